@@ -1,12 +1,13 @@
 package main.GUI;
 
-import javax.imageio.ImageIO;
 import java.awt.Color;
 import java.awt.Graphics2D;
 import java.awt.Image;
 import java.awt.geom.RoundRectangle2D;
-import java.io.IOException;
-import java.io.InputStream;
+import java.util.concurrent.CompletableFuture;
+
+import main.core.AssetCache;
+import main.core.ScaledImageCache;
 
 /**
  * Represents a button with an image and rounded corners.
@@ -15,6 +16,7 @@ import java.io.InputStream;
 public class ImageButton extends Button {
     private String path;
     private Image image;
+    private CompletableFuture<Image> pendingImage;
 
     /**
      * Constructs an ImageButton instance with the specified parameters.
@@ -34,7 +36,8 @@ public class ImageButton extends Button {
     public ImageButton(int x, int y, int w, int h, Color inactiveColor, Color hoverColor, Color activeColor, Runnable action, int arcWidth, int arcHeight, String path) {
         super(x, y, w, h, inactiveColor, hoverColor, activeColor, action, arcWidth, arcHeight);
         this.path = path;
-        this.image = loadImage();
+        // Decoded on the worker pool so that building a page decodes all of its images at once
+        pendingImage = AssetCache.getImageAsync(path);
     }
 
     /**
@@ -45,11 +48,12 @@ public class ImageButton extends Button {
      */
     @Override
     public void draw(Graphics2D g2d) {
+        resolveImage();
         super.draw(g2d);
         RoundRectangle2D roundedRectangle = new RoundRectangle2D.Float(x, y, w, h, arcWidth, arcHeight);
         g2d.setClip(roundedRectangle);
         if (image != null) {
-            g2d.drawImage(image, x, y, w, h, null);
+            ScaledImageCache.draw(g2d, image, x, y, w, h);
         } else {
             g2d.setColor(Color.RED);
             g2d.drawString("Image not found", x + 10, y + h / 2);
@@ -58,22 +62,12 @@ public class ImageButton extends Button {
     }
 
     /**
-     * Loads the image from the classpath (from within the JAR if needed).
-     * 
-     * @return The loaded Image object, or null if there was an error.
+     * Collects the decoded image the first time it is needed.
      */
-    private Image loadImage() {
-        try {
-            InputStream is = getClass().getResourceAsStream(path);
-            if (is != null) {
-                return ImageIO.read(is);
-            } else {
-                System.err.println("Resource not found: " + path);
-                return null;
-            }
-        } catch (IOException e) {
-            System.err.println("Error loading image: " + e.getMessage());
-            return null;
+    private void resolveImage() {
+        if (pendingImage != null) {
+            image = pendingImage.join();
+            pendingImage = null;
         }
     }
 }
@@ -1,11 +1,11 @@
 package main.GUI;
 
-import javax.imageio.ImageIO;
 import java.awt.*;
-import java.io.IOException;
-import java.io.InputStream;
+import java.util.concurrent.CompletableFuture;
 
 import main.GameObjects.Sprite;
+import main.core.AssetCache;
+import main.core.ScaledImageCache;
 
 /**
  * Represents a graphical sprite that displays an image.
@@ -13,6 +13,7 @@ import main.GameObjects.Sprite;
  */
 public class ImageSprite extends Sprite {
     private Image image;
+    private CompletableFuture<Image> pendingImage;
     private String path;
 
     /**
@@ -27,30 +28,8 @@ public class ImageSprite extends Sprite {
     public ImageSprite(int x, int y, int w, int h, String path) {
         super(x, y, w, h);
         this.path = path;
-        image = loadImage();
-    }
-
-    /**
-     * Loads the image from the classpath (from within the JAR if needed).
-     * 
-     * @return The loaded Image object, or null if there was an error.
-     */
-    private Image loadImage() {
-        try {
-            // Load the resource using class loader
-            InputStream is = getClass().getResourceAsStream(path);
-
-            if (is != null) {
-                // Use ImageIO to read the image from the InputStream
-                return ImageIO.read(is);
-            } else {
-                System.err.println("Resource not found: " + path);
-                return null;
-            }
-        } catch (IOException e) {
-            System.err.println("Error loading image: " + e.getMessage());
-            return null;
-        }
+        // Decoded on the worker pool so that building a page decodes all of its images at once
+        pendingImage = AssetCache.getImageAsync(path);
     }
 
     /**
@@ -61,8 +40,9 @@ public class ImageSprite extends Sprite {
      */
     @Override
     public void draw(Graphics2D g2d) {
+        resolveImage();
         if (image != null) {
-            g2d.drawImage(image, getX(), getY(), getW(), getH(), null);
+            ScaledImageCache.draw(g2d, image, getX(), getY(), getW(), getH());
         } else {
             // Fallback if the image cannot be loaded
             g2d.setColor(Color.RED);
@@ -71,4 +51,14 @@ public class ImageSprite extends Sprite {
             g2d.drawString("Image not found", getX() + 10, getY() + getH() / 2);
         }
     }
+
+    /**
+     * Collects the decoded image the first time it is needed.
+     */
+    private void resolveImage() {
+        if (pendingImage != null) {
+            image = pendingImage.join();
+            pendingImage = null;
+        }
+    }
 }
@@ -1,9 +1,10 @@
 package main.GUI;
 
 import java.awt.Color;
-import java.awt.Font;
 import java.awt.Graphics2D;
 
+import main.core.TextCache;
+
 /**
  * Represents a text element to be drawn on the screen.
  * Provides methods to set the text content, color, font size, and position.
@@ -32,14 +33,29 @@ public class Text {
     }
 
     /**
-     * Draws the text on the provided Graphics2D context.
+     * Replaces the text's position, size, content and color.
+     *
+     * @param x The x-coordinate where the text will be drawn.
+     * @param y The y-coordinate where the text will be drawn.
+     * @param fontSize The size of the font used to render the text.
+     * @param text The content of the text to be displayed.
+     * @param color The color of the text.
+     */
+    protected void set(int x, int y, int fontSize, String text, Color color) {
+        this.x = x;
+        this.y = y;
+        this.text = text;
+        this.color = color;
+        this.fontSize = fontSize;
+    }
+
+    /**
+     * Draws the text on the provided Graphics2D context with the shared font, or as a cached label when enabled.
      *
      * @param g2d The Graphics2D object used for drawing the text.
      */
     public void draw(Graphics2D g2d) {
-        g2d.setFont(new Font("Arial", Font.BOLD, fontSize));
-        g2d.setColor(color);
-        g2d.drawString(text, x, y);
+        TextCache.drawString(g2d, text, fontSize, color, x, y);
     }
 
     public void update(){
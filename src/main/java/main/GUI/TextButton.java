@@ -1,10 +1,10 @@
 package main.GUI;
 
 import java.awt.Color;
-import java.awt.Font;
-import java.awt.FontMetrics;
 import java.awt.Graphics2D;
 
+import main.core.TextCache;
+
 /**
  * Represents a button with text that can be displayed on the screen.
  * The button changes appearance based on its state (inactive, hover, active).
@@ -14,6 +14,7 @@ public class TextButton extends Button {
     private String text;
     private int fontSize;
     private Color textColor;
+    private int textWidth;
 
     /**
      * Constructs a TextButton instance with the specified parameters.
@@ -37,6 +38,8 @@ public class TextButton extends Button {
         this.text = text;
         this.fontSize = fontSize;
         this.textColor = textColor;
+        // The text never changes, so it is measured once here rather than on every draw
+        this.textWidth = (text != null) ? TextCache.stringWidth(text, fontSize) : 0;
     }
 
     /**
@@ -50,18 +53,7 @@ public class TextButton extends Button {
     public void draw(Graphics2D g2d) {
         super.draw(g2d);
 
-        g2d.setFont(new Font("Arial", Font.BOLD, fontSize));
-        g2d.setColor(textColor);
-
-        // Calculate the font metrics to get the height of the text
-        Font font = g2d.getFont();
-        FontMetrics metrics = g2d.getFontMetrics(font);
-
-        // Calculate the position of the text to be centered both horizontally and vertically within the button
-        int textX = x + (w - metrics.stringWidth(text)) / 2;
-        int textY = y + ((h - metrics.getHeight()) / 2) + metrics.getAscent();
-
-        // Draw the string at the calculated coordinates
-        g2d.drawString(text, textX, textY);
+        // Centered using the width measured when the text was set
+        TextCache.drawCentered(g2d, text, textWidth, fontSize, textColor, x, y, w, h);
     }
 }
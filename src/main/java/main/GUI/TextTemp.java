@@ -27,6 +27,31 @@ public class TextTemp extends Text {
         this.done = false;
     }
 
+    /**
+     * Reuses this text for something new, showing it again for the given duration.
+     *
+     * @param x        The x-coordinate of the text.
+     * @param y        The y-coordinate of the text.
+     * @param fontSize The font size of the text.
+     * @param text     The actual text to display.
+     * @param color    The color of the text.
+     * @param duration The duration for which the text should be displayed (in frames).
+     */
+    public void reset(int x, int y, int fontSize, String text, Color color, int duration) {
+        set(x, y, fontSize, text, color);
+        this.duration = duration;
+        this.done = false;
+    }
+
+    /**
+     * Checks whether the text's duration has expired.
+     *
+     * @return True if the text is no longer drawn.
+     */
+    public boolean isDone() {
+        return done;
+    }
+
     /**
      * Draws the text if it is still within the display duration.
      *
@@ -1,12 +1,12 @@
 package main.GameObjects;
 
-import javax.imageio.ImageIO;
 import java.awt.*;
 import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Dictionary;
 import java.util.Enumeration;
 import java.util.Hashtable;
@@ -15,6 +15,12 @@ import java.util.jar.JarEntry;
 import java.util.jar.JarFile;
 import java.net.URL;
 
+import main.core.AssetCache;
+import main.core.FixedTimestep;
+import main.core.ResourceIndex;
+import main.core.ScaledImageCache;
+import main.core.TextureAtlas;
+
 /**
  * Represents an animated sprite that can switch between different animations based on its state.
  * The sprite's animations are loaded from a directory structure where each subdirectory contains
@@ -22,12 +28,16 @@ import java.net.URL;
  */
 public class AnimatedSprite extends Sprite {
     protected List<Image> currentAnimation; 
-    protected Dictionary<String, List<Image>> animationDict; 
+    protected Dictionary<String, String> animationDict; 
+    protected Dictionary<String, String[]> prefetchHints;
+    protected String loadedState;
     protected int currentFrame; 
-    protected int frameCounter; 
+    protected long frameElapsed;
     protected String state; 
     protected int animationSpeed; 
+    protected Dictionary<String, Long> frameDurations;
     protected Boolean isAnimationComplete;
+    protected boolean atlasMode;
 
     /**
      * Constructs an AnimatedSprite object with the specified position, size, and animation directory.
@@ -37,69 +47,155 @@ public class AnimatedSprite extends Sprite {
      * @param w the width of the sprite.
      * @param h the height of the sprite.
      * @param path the path to the directory containing animation subdirectories.
-     * @param animationSpeed the speed of the animation.
+     * @param animationSpeed the default number of ticks each frame is shown for.
      */
     public AnimatedSprite(int x, int y, int w, int h, String path, int animationSpeed) {
         super(x, y, w, h);
         currentFrame = 0;
         state = "idle";
         animationDict = loadAnimations(path);
-        currentAnimation = animationDict.get("idle");
-        frameCounter = 0;
+        prefetchHints = new Hashtable<>();
+        currentAnimation = Collections.emptyList();
+        frameElapsed = 0;
         this.animationSpeed = animationSpeed;
+        frameDurations = new Hashtable<>();
         isAnimationComplete = false;
+        atlasMode = TextureAtlas.isDrawEnabled();
+    }
+
+    /**
+     * Advances the animation by the given amount of time, loading the frames of a new state first
+     * and keeping the current state's frames in use in the {@link AssetCache}.
+     * Each frame is shown for its state's frame duration, however often the sprite is drawn.
+     * 
+     * @param elapsedNanos the time since the last update, in nanoseconds.
+     */
+    public void updateAnimation(long elapsedNanos) {
+        // Showing a state keeps its frames resident; if they were evicted anyway, e.g. under a small cap, they are loaded again
+        String folder = (loadedState != null) ? animationDict.get(loadedState) : null;
+        if (!state.equals(loadedState) || (folder != null && !AssetCache.touchFrames(folder))) {
+            loadCurrentAnimation();
+        }
+        if (!isVisible || currentAnimation.isEmpty()) {
+            return;
+        }
+        long frameDuration = getFrameDuration(state);
+        frameElapsed += elapsedNanos;
+        while (frameElapsed >= frameDuration) {
+            frameElapsed -= frameDuration;
+            currentFrame = (currentFrame + 1) % currentAnimation.size();
+        }
+        isAnimationComplete = (currentFrame == currentAnimation.size() - 1);
     }
 
     /**
      * Draws the current frame of the animation at the sprite's position.
+     * Drawing never changes the animation; it only advances in {@link #updateAnimation(long)}.
+     * Frames are drawn from the {@link ScaledImageCache} so steady-state draws are unscaled blits,
+     * or as sub-rectangles of their {@link TextureAtlas} page when atlas mode is on.
      * 
      * @param g the Graphics2D object used for drawing.
      */
     @Override
     public void draw(Graphics2D g) {
-        if (isVisible) {
-            currentAnimation = animationDict.get(state);
-            g.drawImage(currentAnimation.get(currentFrame), getX(), getY(), getW(), getH(), null);
-            isAnimationComplete = (currentFrame == currentAnimation.size() - 1);
+        if (isVisible && currentFrame < currentAnimation.size()) {
+            drawFrame(g, currentAnimation.get(currentFrame));
+        }
+    }
 
-            if (frameCounter == 1) {
-                currentFrame = (currentFrame + 1) % currentAnimation.size();
-            }
-            frameCounter = (frameCounter + 1) % animationSpeed;
+    /**
+     * Gets the frame that {@link #draw(Graphics2D)} would currently show.
+     *
+     * @return The current frame, or null if nothing is drawn.
+     */
+    public Image getCurrentImage() {
+        if (isVisible && currentFrame < currentAnimation.size()) {
+            return currentAnimation.get(currentFrame);
+        }
+        return null;
+    }
+
+    /**
+     * Draws a single animation frame at the sprite's position and size.
+     * 
+     * @param g the Graphics2D object used for drawing.
+     * @param frame the frame to draw.
+     */
+    protected void drawFrame(Graphics2D g, Image frame) {
+        TextureAtlas.Region region = atlasMode ? TextureAtlas.getRegion(frame) : null;
+        if (region != null) {
+            region.draw(g, getX(), getY(), getW(), getH());
+        } else {
+            ScaledImageCache.draw(g, frame, getX(), getY(), getW(), getH());
         }
     }
 
     /**
-     * Loads animations from the specified directory path. Each subdirectory represents a different
+     * Finds the animations in the specified directory path. Each subdirectory represents a different
      * animation state and contains images that make up the frames of that animation.
+     * Only the folders are recorded here; a state's frames are loaded the first time it is shown
+     * and shared with every other sprite using the same path through the {@link AssetCache}.
      * 
      * @param path the path to the directory containing animation subdirectories.
-     * @return a dictionary mapping animation states to lists of images.
+     * @return a dictionary mapping animation states to their frame folders.
      */
-    public Dictionary<String, List<Image>> loadAnimations(String path) {
-        Dictionary<String, List<Image>> dict = new Hashtable<>();
-        List<String> folders = listFolderInResourceFolder(path);
-        List<String> imagePaths = null;
-        for (String subfolder :folders){
-            imagePaths = listFilesInResourceFolder(subfolder);
+    public Dictionary<String, String> loadAnimations(String path) {
+        Dictionary<String, String> dict = new Hashtable<>();
+        for (String subfolder : AssetCache.getFolders(path, this::listFolderInResourceFolder)) {
+            dict.put(subfolder.substring(subfolder.lastIndexOf("/") + 1), subfolder);
+        }
+
+        return dict;
+    }
 
-            List<Image> animation = new ArrayList<>();
-            for (String imagePath : imagePaths){
-                animation.add(loadImage('/'+imagePath));
+    /**
+     * Loads the frames of the current state, then starts loading the states likely to follow it
+     * in the background.
+     */
+    protected void loadCurrentAnimation() {
+        loadedState = state;
+        String folder = animationDict.get(state);
+        currentAnimation = (folder != null)
+                ? AssetCache.getFrames(folder, this::listFilesInResourceFolder)
+                : Collections.emptyList();
+        if (currentFrame >= currentAnimation.size()) {
+            currentFrame = 0;
+        }
+        String[] nextStates = prefetchHints.get(state);
+        if (nextStates != null) {
+            for (String nextState : nextStates) {
+                String nextFolder = animationDict.get(nextState);
+                if (nextFolder != null) {
+                    AssetCache.prefetchFrames(nextFolder, this::listFilesInResourceFolder);
+                }
             }
-            dict.put(subfolder.substring(subfolder.lastIndexOf("/") + 1), animation);
         }
+    }
 
-        return dict;
+    /**
+     * Sets the states likely to follow a state, whose frames are loaded in the background
+     * as soon as that state is shown.
+     * 
+     * @param state the state that is shown first.
+     * @param nextStates the states that usually follow it.
+     */
+    public void setPrefetchHint(String state, String... nextStates) {
+        prefetchHints.put(state, nextStates);
     }
 
     /**
      * Lists the subdirectories in the specified resource folder.
+     * Uses the generated {@link ResourceIndex} when available and only scans the JAR or
+     * file system when the build did not produce one.
      * 
      * @param path the path to the resource folder.
      * @return a list of folder paths.
      */
     public List<String> listFolderInResourceFolder(String path) {
+        List<String> indexed = ResourceIndex.getFolders(path);
+        if (indexed != null) {
+            return indexed;
+        }
         List<String> paths = new ArrayList<>();  // Initialize the list to store file paths
         try {
             // Get the resource as a URL
@@ -142,11 +238,17 @@ public class AnimatedSprite extends Sprite {
 
     /**
      * Lists the files in the specified resource folder.
+     * Uses the generated {@link ResourceIndex} when available and only scans the JAR or
+     * file system when the build did not produce one.
      * 
      * @param path the path to the resource folder.
      * @return a list of file paths.
      */
     public List<String> listFilesInResourceFolder(String path) {
+        List<String> indexed = ResourceIndex.getFiles(path);
+        if (indexed != null) {
+            return indexed;
+        }
         List<String> paths = new ArrayList<>();  // Initialize the list to store file paths
         try {
             // Get the resource as a URL
@@ -188,37 +290,13 @@ public class AnimatedSprite extends Sprite {
         return paths;  // Ensure the method returns the paths list
     }
 
-    /**
-     * Loads the image from the classpath (from within the JAR if needed).
-     * 
-     * @param path the path of the image resource.
-     * @return The loaded Image object, or null if there was an error.
-     */
-    private Image loadImage(String path) {
-        try {
-            // Load the resource using class loader
-            InputStream is = getClass().getResourceAsStream(path);
-
-            if (is != null) {
-                // Use ImageIO to read the image from the InputStream
-                return ImageIO.read(is);
-            } else {
-                System.err.println("Resource not found: " + path);
-                return null;
-            }
-        } catch (IOException e) {
-            System.err.println("Error loading image: " + e.getMessage());
-            return null;
-        }
-    }
-
     /**
      * Refreshes the current animation, resetting it to the beginning.
      */
     public void refreshAnimation() {
-        currentAnimation = animationDict.get(state);
         currentFrame = 0;
-        frameCounter = 0;
+        loadCurrentAnimation();
+        frameElapsed = 0;
         isAnimationComplete = false;
     }
 
@@ -314,14 +392,45 @@ public class AnimatedSprite extends Sprite {
     }
 
     /**
-     * Sets the speed of the animation.
+     * Sets the speed of the animation for states without their own frame duration.
      * 
-     * @param animationSpeed the speed of the animation (higher values make the animation slower).
+     * @param animationSpeed the number of ticks each frame is shown for (higher values make the animation slower).
      */
     public void setAnimationSpeed(int animationSpeed) {
         this.animationSpeed = animationSpeed;
     }
 
+    /**
+     * Sets how long each frame of a state is shown for, overriding the animation speed for that state.
+     * 
+     * @param state the animation state.
+     * @param ticks the number of ticks each frame is shown for.
+     */
+    public void setFrameDuration(String state, int ticks) {
+        frameDurations.put(state, ticks * FixedTimestep.TICK_NANOS);
+    }
+
+    /**
+     * Gets how long each frame of a state is shown for.
+     * 
+     * @param state the animation state.
+     * @return the frame duration in nanoseconds.
+     */
+    public long getFrameDuration(String state) {
+        Long duration = frameDurations.get(state);
+        return (duration != null) ? duration : Math.max(1, animationSpeed) * FixedTimestep.TICK_NANOS;
+    }
+
+    /**
+     * Sets whether frames are drawn as sub-rectangles of their atlas page rather than from
+     * pre-scaled copies. Frames that were not packed into an atlas are always drawn from copies.
+     * 
+     * @param atlasMode true to draw frames straight from the atlas.
+     */
+    public void setAtlasMode(boolean atlasMode) {
+        this.atlasMode = atlasMode;
+    }
+
     /**
      * Gets the current animation speed.
      * 
@@ -3,19 +3,36 @@ package main.GameObjects;
 import java.awt.Color;
 import java.awt.Graphics2D;
 import java.awt.RadialGradientPaint;
+import java.awt.Rectangle;
+import java.awt.Transparency;
 import java.awt.geom.Arc2D;
 import java.awt.geom.Point2D;
 import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.TimeUnit;
+
+import main.core.CompatibleImages;
+import main.core.FixedTimestep;
+import main.core.QualityGovernor;
 
 /**
  * Represents a flickering fire light source in the game.
  * The light flickers to simulate a fire-like glow.
+ * The glow is pre-rendered at {@code -Dreel.flickerFrames} intensities (16 by default) spanning the flicker's range,
+ * and each frame blits the one closest to the current intensity instead of rasterizing a gradient.
+ * Below {@link QualityGovernor.Tier#HIGH} quality the fire glows steadily at its base intensity, so it can be cached with the steady lights.
  */
 public class FireLight extends Light {
+    private static final int FLICKER_FRAMES = Math.max(2, Integer.getInteger("reel.flickerFrames", 16));
+    private static final long TICK_MILLIS = TimeUnit.NANOSECONDS.toMillis(FixedTimestep.TICK_NANOS);
+    private static final float MIN_INTENSITY = 0.3f;
+    private static final float MAX_INTENSITY = 1.0f;
 
     private float flickerIntensity;
     private final float flickerBaseIntensity = 0.8f;
-    private long startTime;
+    private transient long ticks;
+    private transient BufferedImage[] flickerFrames;
+    private transient Rectangle flickerBounds;
 
     /**
      * Constructs a FireLight instance with the specified position and radius.
@@ -26,51 +43,136 @@ public class FireLight extends Light {
      */
     public FireLight(int lightPosX, int lightPosY, float radius) {
         super(lightPosX, lightPosY, radius);
-        this.startTime = System.currentTimeMillis();
     }
 
     /**
-     * Draws the fire light on the screen with a flickering effect.
+     * Updates the time of day and moves the flicker on by one tick.
+     *
+     * @param timeOfDay The current time of day as a float value.
+     */
+    @Override
+    public void update(float timeOfDay) {
+        super.update(timeOfDay);
+        ticks++;
+        float flickerFactor = (float) Math.sin(ticks * TICK_MILLIS * 0.02);
+        flickerIntensity = flickerBaseIntensity + (flickerFactor * 0.5f);
+        flickerIntensity = Math.max(MIN_INTENSITY, Math.min(flickerIntensity, MAX_INTENSITY));
+    }
+
+    /**
+     * Draws the fire light on the screen with a flickering effect, as the pre-rendered glow closest to the current intensity.
      *
      * @param g The Graphics2D object used for drawing the light.
      */
     @Override
     public void draw(Graphics2D g) {
-        if (timeOfDay < 0.15 || timeOfDay > 0.85) {
-            long elapsedTime = System.currentTimeMillis() - startTime;
-            float flickerFactor = (float) Math.sin(elapsedTime * 0.02);
-            flickerIntensity = flickerBaseIntensity + (flickerFactor * 0.5f);
-            flickerIntensity = Math.max(0.0f, Math.min(flickerIntensity, 1.0f));
-
-            Point2D.Float lightPosition = new Point2D.Float(lightPosX, lightPosY);
-            Color[] warmColors = {
-                new Color(255, 200, 70, (int) (200 + (55 * flickerIntensity))),
-                new Color(255, 120, 30, (int) (150 + (50 * flickerIntensity))),
-                new Color(150, 50, 0, 0)
-            };
-
-            float[] fractions = {0.0f, 0.6f, 1.0f};
-            RadialGradientPaint rgp = new RadialGradientPaint(lightPosition, radius, fractions, warmColors);
-
-            Arc2D.Double arc = new Arc2D.Double(
-                lightPosition.getX() - radius,
-                lightPosition.getY() - radius,
-                2 * radius,
-                2 * radius,
-                200, 140, Arc2D.PIE
-            );
-
-            g.setClip(arc);
-            Rectangle2D rect = new Rectangle2D.Double(
-                lightPosition.getX() - 400,
-                lightPosition.getY() + 43,
-                800,
-                800
-            );
-            g.setClip(rect);
-            g.setPaint(rgp);
-            g.fill(arc);
-            g.setClip(null);
+        if (isNight()) {
+            if (flickerFrames == null) {
+                renderFlickerFrames();
+            }
+            float intensity = isAnimated() ? flickerIntensity : flickerBaseIntensity;
+            int frame = Math.round((intensity - MIN_INTENSITY) / (MAX_INTENSITY - MIN_INTENSITY) * (FLICKER_FRAMES - 1));
+            frame = Math.max(0, Math.min(frame, FLICKER_FRAMES - 1));
+            g.drawImage(flickerFrames[frame], flickerBounds.x, flickerBounds.y, null);
+        }
+    }
+
+    /**
+     * Renders the glow once for each intensity in the flicker's range.
+     */
+    private void renderFlickerFrames() {
+        flickerBounds = getGlowBounds();
+        flickerFrames = new BufferedImage[FLICKER_FRAMES];
+        for (int i = 0; i < FLICKER_FRAMES; i++) {
+            float intensity = MIN_INTENSITY + (MAX_INTENSITY - MIN_INTENSITY) * i / (FLICKER_FRAMES - 1);
+            BufferedImage image = CompatibleImages.create(Math.max(1, flickerBounds.width), Math.max(1, flickerBounds.height), Transparency.TRANSLUCENT);
+            Graphics2D g = image.createGraphics();
+            g.translate(-flickerBounds.x, -flickerBounds.y);
+            drawGlow(g, intensity);
+            g.dispose();
+            flickerFrames[i] = image;
+        }
+    }
+
+    /**
+     * Draws the glow at one intensity, clipped to the area below the fire.
+     *
+     * @param g The Graphics2D object used for drawing the glow.
+     * @param flickerIntensity The intensity, from 0 to 1.
+     */
+    private void drawGlow(Graphics2D g, float flickerIntensity) {
+        Point2D.Float lightPosition = new Point2D.Float(lightPosX, lightPosY);
+        Color[] warmColors = {
+            new Color(255, 200, 70, (int) (200 + (55 * flickerIntensity))),
+            new Color(255, 120, 30, (int) (150 + (50 * flickerIntensity))),
+            new Color(150, 50, 0, 0)
+        };
+
+        float[] fractions = {0.0f, 0.6f, 1.0f};
+        RadialGradientPaint rgp = new RadialGradientPaint(lightPosition, radius, fractions, warmColors);
+
+        Arc2D.Double arc = new Arc2D.Double(
+            lightPosition.getX() - radius,
+            lightPosition.getY() - radius,
+            2 * radius,
+            2 * radius,
+            200, 140, Arc2D.PIE
+        );
+
+        g.clip(getGlowArea());
+        g.setPaint(rgp);
+        g.fill(arc);
+    }
+
+    /**
+     * The fire flickers on every tick at full quality, so it is drawn every frame.
+     *
+     * @return {@code true} at {@link QualityGovernor.Tier#HIGH} quality, otherwise {@code false}.
+     */
+    @Override
+    public boolean isAnimated() {
+        return QualityGovernor.getTier() == QualityGovernor.Tier.HIGH;
+    }
+
+    /**
+     * Gets the area covered by the glow, which only shows at night.
+     *
+     * @return The drawn bounds in world coordinates, empty during the day.
+     */
+    @Override
+    public Rectangle getBounds() {
+        if (!isNight()) {
+            return new Rectangle();
         }
+        return getGlowBounds();
+    }
+
+    /**
+     * Gets the part of the light's circle inside the area below the fire.
+     *
+     * @return The glow's bounds in world coordinates.
+     */
+    private Rectangle getGlowBounds() {
+        Rectangle circle = new Rectangle(Math.round(lightPosX - radius), Math.round(lightPosY - radius),
+                Math.round(2 * radius) + 1, Math.round(2 * radius) + 1);
+        return circle.intersection(getGlowArea().getBounds());
+    }
+
+    /**
+     * Determines if the fire is lit, between 0.85 and 0.15 in the {@code timeOfDay} range.
+     *
+     * @return {@code true} at night, otherwise {@code false}.
+     */
+    private boolean isNight() {
+        return timeOfDay < 0.15 || timeOfDay > 0.85;
+    }
+
+    /**
+     * Gets the area below the fire that the glow is clipped to.
+     *
+     * @return The clip area in world coordinates.
+     */
+    private Rectangle2D getGlowArea() {
+        return new Rectangle2D.Double(lightPosX - 400, lightPosY + 43, 800, 800);
     }
 }
@@ -1,9 +1,13 @@
 package main.GameObjects;
 
 import java.awt.Graphics2D;
+import java.awt.Image;
+import java.awt.Rectangle;
 import java.awt.geom.AffineTransform;
 import java.util.Random;
 
+import main.core.RotationCache;
+
 /**
  * Represents a fish in the game that can swim and be hooked by a fishing line.
  * The fish has properties such as weight, rarity, and visibility.
@@ -51,6 +55,7 @@ public class Fish extends AnimatedSprite {
         hooked = false;
         hasBeenHooked = false;
         speed = DEFAULT_SPEED;
+        setPrefetchHint("idle", "sinking");
     }
 
     /**
@@ -70,6 +75,7 @@ public class Fish extends AnimatedSprite {
         y = random.nextInt( water.getY() + water.getH()-water.getY())+water.getY();
         isVisible = true;
         angle = getBearing(x + w / 2, y, fishingLineX, fishingLineY);
+        savePosition();
     }
 
     /**
@@ -85,18 +91,44 @@ public class Fish extends AnimatedSprite {
     }
 
     /**
-     * Draws the fish on the screen with the correct rotation based on its angle.
+     * Turns a hooked fish towards the fishing line, then advances the animation.
      *
-     * @param g The Graphics2D object used for drawing the fish.
+     * @param elapsedNanos The time since the last update, in nanoseconds.
      */
     @Override
-    public void draw(Graphics2D g) {
-        AffineTransform originalTransform = g.getTransform();
+    public void updateAnimation(long elapsedNanos) {
         if (hooked) {
             angle = getBearing(x + w / 2, y, fishingLineX, fishingLineY);
         }
+        super.updateAnimation(elapsedNanos);
+    }
+
+    /**
+     * Gets the area the fish can cover at any angle, a square as wide as its diagonal around its center.
+     *
+     * @return The drawn bounds in world coordinates.
+     */
+    @Override
+    public Rectangle getDrawBounds() {
+        int side = (int) Math.ceil(Math.sqrt((double) w * w + (double) h * h));
+        return new Rectangle(x + w / 2 - side / 2 - 1, y + h / 2 - side / 2 - 1, side + 2, side + 2);
+    }
+
+    /**
+     * Draws a frame rotated to the fish's angle, as a pre-rendered frame from the
+     * {@link RotationCache} when one is ready, otherwise by rotating the graphics context.
+     *
+     * @param g The Graphics2D object used for drawing the fish.
+     * @param frame The frame to draw.
+     */
+    @Override
+    protected void drawFrame(Graphics2D g, Image frame) {
+        if (RotationCache.draw(g, frame, getX(), getY(), getW(), getH(), angle)) {
+            return;
+        }
+        AffineTransform originalTransform = g.getTransform();
         rotate(angle, g);
-        super.draw(g);
+        super.drawFrame(g, frame);
         g.setTransform(originalTransform);
     }
 
@@ -2,6 +2,7 @@ package main.GameObjects;
 
 import java.awt.Color;
 import java.awt.Graphics2D;
+import java.awt.Rectangle;
 import java.awt.BasicStroke;
 import java.util.Random;
 
@@ -19,6 +20,7 @@ public class FishingLine extends Sprite {
     private static final int MAX_AMPLITUDE = 400;
     private static final int MAX_TENSION = 70;
     private static final int REST_DURATION = 40;
+    private static final int LINE_WIDTH = 5;
     
     private int playerX, playerY;
     private Random random;
@@ -85,10 +87,23 @@ public class FishingLine extends Sprite {
             g.setColor(new Color(136, 236, 136));
         }
 
-        g.setStroke(new BasicStroke(5));
+        g.setStroke(new BasicStroke(LINE_WIDTH));
         g.drawLine(x + w / 2, y + h / 2, playerX, playerY);
     }
 
+    /**
+     * Gets the area covered by the float and the line back to the player, including the line's width.
+     *
+     * @return The drawn bounds in world coordinates.
+     */
+    @Override
+    public Rectangle getDrawBounds() {
+        Rectangle bounds = new Rectangle(x, y, w, h);
+        bounds.add(playerX, playerY);
+        bounds.grow(LINE_WIDTH, LINE_WIDTH);
+        return bounds;
+    }
+
     /**
      * Updates the state of the fishing line based on user input and current state.
      *
@@ -1,6 +1,7 @@
 package main.GameObjects;
 
 import java.awt.Graphics2D;
+import java.awt.Rectangle;
 
 /**
  * Represents a light source in the game.
@@ -47,4 +48,24 @@ public class Light {
         // No implementation yet
         return;
     }
+
+    /**
+     * Gets whether the light changes from frame to frame by itself, rather than only with the time of day.
+     * Lights that do not can be drawn once into the {@link main.core.StaticLayer} and reused.
+     *
+     * @return {@code true} if the light has to be drawn every frame.
+     */
+    public boolean isAnimated() {
+        return false;
+    }
+
+    /**
+     * Gets the area the light currently draws over.
+     * A plain light draws nothing, so its bounds are empty.
+     *
+     * @return The drawn bounds in world coordinates, empty while the light is not shown.
+     */
+    public Rectangle getBounds() {
+        return new Rectangle();
+    }
 }
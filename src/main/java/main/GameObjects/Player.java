@@ -4,6 +4,8 @@ import java.awt.*;
 import java.awt.geom.Arc2D;
 import java.awt.geom.Point2D;
 
+import main.core.QualityGovernor;
+
 /**
  * Represents a player character in the game, capable of movement, rotation, and animation.
  * The player's state is determined by their movement and position.
@@ -35,42 +37,76 @@ public class Player extends AnimatedSprite {
         this.maxSpeed = maxSpeed;
         this.isFishing = false;
         this.state = "idle_front";
+        // Load the fishing animations just before the fishing sequence reaches them
+        setPrefetchHint("idle_back", "casting");
+        setPrefetchHint("casting", "idle_fishing");
+        setPrefetchHint("idle_fishing", "reeling", "reelingLeft", "reelingRight");
+        setPrefetchHint("reeling", "catching");
+        setFrameDuration("casting", 10);
+        setFrameDuration("catching", 10);
     }
 
     /**
-     * Draws the player with appropriate rotation based on movement direction and
-     * displays the player's shadow on the screen.
+     * Works out the player's facing and walking state from their movement, then advances the animation.
      *
-     * @param g The Graphics2D context used for drawing the player.
+     * @param elapsedNanos The time since the last update, in nanoseconds.
      */
     @Override
-    public void draw(Graphics2D g) {
+    public void updateAnimation(long elapsedNanos) {
         angle = calcAngle();
         if (!isFishing) {
-            String newState = calcState();
-            if (!newState.equals(state)) {
-                refreshAnimation();
-            }
-            state = newState;
+            setState(calcState());
         }
+        super.updateAnimation(elapsedNanos);
+    }
+
+    /**
+     * Draws the player and displays the player's shadow on the screen.
+     *
+     * @param g The Graphics2D context used for drawing the player.
+     */
+    @Override
+    public void draw(Graphics2D g) {
         drawShadow(g);
         super.draw(g);
     }
 
     /**
-     * Draws a shadow beneath the player based on their size.
+     * Draws a shadow beneath the player based on their size. Below {@link QualityGovernor.Tier#HIGH} quality
+     * it is a plain integer oval, and at {@link QualityGovernor.Tier#LOW} it is not drawn.
      *
      * @param g The Graphics2D context used for drawing the shadow.
      */
     public void drawShadow(Graphics2D g) {
+        QualityGovernor.Tier tier = QualityGovernor.getTier();
+        if (tier == QualityGovernor.Tier.LOW) {
+            return;
+        }
         float radius = (this.getW() != 250) ? SMALL_SHADOW_RADIUS : LARGE_SHADOW_RADIUS;
         Point2D.Float shadowPosition = new Point2D.Float(this.getX() + this.getW() / 2, this.getY() + this.getH() + SHADOW_Y_OFFSET);
 
-        Arc2D.Double arc = new Arc2D.Double(shadowPosition.getX() - radius, shadowPosition.getY() - radius, 2 * radius, radius, 0, 360, Arc2D.PIE);
         g.setPaint(SHADOW_COLOR);
+        if (tier == QualityGovernor.Tier.MEDIUM) {
+            g.fillOval(Math.round(shadowPosition.x - radius), Math.round(shadowPosition.y - radius), Math.round(2 * radius), Math.round(radius));
+            return;
+        }
+        Arc2D.Double arc = new Arc2D.Double(shadowPosition.getX() - radius, shadowPosition.getY() - radius, 2 * radius, radius, 0, 360, Arc2D.PIE);
         g.fill(arc);
     }
 
+    /**
+     * Gets the area covered by the player and their shadow.
+     *
+     * @return The drawn bounds in world coordinates.
+     */
+    @Override
+    public Rectangle getDrawBounds() {
+        int radius = (int) Math.ceil((this.getW() != 250) ? SMALL_SHADOW_RADIUS : LARGE_SHADOW_RADIUS);
+        int shadowX = this.getX() + this.getW() / 2;
+        int shadowY = this.getY() + this.getH() + SHADOW_Y_OFFSET;
+        return super.getDrawBounds().union(new Rectangle(shadowX - radius, shadowY - radius, 2 * radius, radius));
+    }
+
     /**
      * Calculates the rotation angle of the player based on their movement direction.
      *
@@ -2,6 +2,7 @@ package main.GameObjects;
 
 import java.awt.Color;
 import java.awt.Graphics2D;
+import java.awt.Rectangle;
 
 /**
  * The {@code Sprite} class represents a basic drawable and movable object in the game.
@@ -14,6 +15,7 @@ public class Sprite {
     protected int x, y; 
     protected int w, h; 
     protected int dx, dy; 
+    protected int previousX, previousY;
     protected boolean isVisible;
 
     /**
@@ -27,6 +29,8 @@ public class Sprite {
     public Sprite(int x, int y, int w, int h) {
         this.x = x;
         this.y = y;
+        this.previousX = x;
+        this.previousY = y;
         this.w = w;
         this.h = h;
         this.dx = 0;  
@@ -46,6 +50,53 @@ public class Sprite {
         
     }
 
+    /**
+     * Draws the sprite between its previous and current position, so movement looks smooth
+     * when frames are drawn between simulation ticks.
+     *
+     * @param g     The {@code Graphics2D} object used for drawing.
+     * @param alpha How far the frame is from the previous tick (0) to the current one (1).
+     */
+    public void drawInterpolated(Graphics2D g, float alpha) {
+        int offsetX = Math.round((previousX - x) * (1 - alpha));
+        int offsetY = Math.round((previousY - y) * (1 - alpha));
+        g.translate(offsetX, offsetY);
+        draw(g);
+        g.translate(-offsetX, -offsetY);
+    }
+
+    /**
+     * Gets the area the sprite covers when drawn at its current position.
+     * Subclasses that draw outside their size, such as shadows or rotated frames, widen it.
+     *
+     * @return The drawn bounds in world coordinates.
+     */
+    public Rectangle getDrawBounds() {
+        return new Rectangle(x, y, w, h);
+    }
+
+    /**
+     * Gets the area the sprite can cover when drawn anywhere between its previous and current position,
+     * as {@link #drawInterpolated(Graphics2D, float)} does.
+     *
+     * @return The swept bounds in world coordinates.
+     */
+    public Rectangle getSweptBounds() {
+        Rectangle current = getDrawBounds();
+        Rectangle previous = new Rectangle(current);
+        previous.translate(previousX - x, previousY - y);
+        return current.union(previous);
+    }
+
+    /**
+     * Records the current position as the one to interpolate from. Called at the start of each
+     * simulation tick, and after teleporting the sprite so it does not slide to its new position.
+     */
+    public void savePosition() {
+        previousX = x;
+        previousY = y;
+    }
+
     /**
      * Moves the sprite by updating its x and y coordinates based on the given velocity.
      *
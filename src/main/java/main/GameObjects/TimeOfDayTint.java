@@ -6,14 +6,25 @@ import java.awt.Graphics2D;
 /**
  * The {@code TimeOfDayTint} class is responsible for applying a day-to-night tint effect on the game screen.
  * This effect is based on the time of day, simulating a transition from bright daylight to a darker night.
+ * The day is split into {@code -Dreel.timeOfDaySteps} steps (1024 by default) and the tint for each is
+ * worked out once, so drawing it is a table lookup. Other time-dependent lighting uses the same steps.
  */
 public class TimeOfDayTint {
+    /** The number of steps the day is split into for lighting. */
+    public static final int STEPS = Math.max(1, Integer.getInteger("reel.timeOfDaySteps", 1024));
 
     // Constants for screen resolution and color values
     private static final int SCREEN_WIDTH = 1920;
     private static final int SCREEN_HEIGHT = 1080;
     private static final Color DAY_COLOR = new Color(0, 0, 0, 0);           // No tint at noon (transparent)
     private static final Color NIGHT_COLOR = new Color(0, 0, 50, 100);      // Dark blue tint at night
+    private static final Color[] TINTS = new Color[STEPS];
+
+    static {
+        for (int step = 0; step < STEPS; step++) {
+            TINTS[step] = calculateColor(getTime(step));
+        }
+    }
 
     /**
      * Constructs a {@code TimeOfDayTint} object.
@@ -31,6 +42,52 @@ public class TimeOfDayTint {
      *                  The brightness is adjusted accordingly (darkest at 0.0 and 1.0, brightest at 0.5).
      */
     public void draw(Graphics2D g, float timeOfDay) {
+        // Apply the overlay tint over the entire game screen, unless it is fully transparent
+        Color color = getColor(timeOfDay);
+        if (color.getAlpha() > 0) {
+            g.setColor(color);
+            g.fillRect(0, 0, SCREEN_WIDTH, SCREEN_HEIGHT);  // Apply tint over the entire screen
+        }
+    }
+
+    /**
+     * Gets the overlay color for a time of day. The color only changes every few dozen ticks,
+     * so comparing it between frames tells whether the tint needs redrawing.
+     *
+     * @param timeOfDay A value representing the time of day, where 0.0 is midnight, 0.5 is noon, and 1.0 is the next midnight.
+     * @return The tint color, shared between calls.
+     */
+    public Color getColor(float timeOfDay) {
+        return TINTS[getStep(timeOfDay)];
+    }
+
+    /**
+     * Gets the step a time of day falls in.
+     *
+     * @param timeOfDay The time of day, from 0 (midnight) to 1 (the next midnight).
+     * @return The step, from 0 to {@link #STEPS} - 1.
+     */
+    public static int getStep(float timeOfDay) {
+        return Math.max(0, Math.min((int) (timeOfDay * STEPS), STEPS - 1));
+    }
+
+    /**
+     * Gets the time of day at the start of a step.
+     *
+     * @param step The step.
+     * @return The time of day.
+     */
+    public static float getTime(int step) {
+        return step / (float) STEPS;
+    }
+
+    /**
+     * Works out the overlay color for a time of day.
+     *
+     * @param timeOfDay The time of day.
+     * @return The tint color.
+     */
+    private static Color calculateColor(float timeOfDay) {
         // Calculate brightness factor based on the time of day (sinusoidal curve)
         float brightnessFactor = (float) Math.sin(timeOfDay * Math.PI); 
 
@@ -41,10 +98,6 @@ public class TimeOfDayTint {
         int a = (int) (NIGHT_COLOR.getAlpha() * (1 - brightnessFactor) + DAY_COLOR.getAlpha() * brightnessFactor);
 
         // Create the final overlay color
-        Color overlayColor = new Color(r, gC, b, a);
-
-        // Apply the overlay tint over the entire game screen
-        g.setColor(overlayColor);
-        g.fillRect(0, 0, SCREEN_WIDTH, SCREEN_HEIGHT);  // Apply tint over the entire screen
+        return new Color(r, gC, b, a);
     }
 }
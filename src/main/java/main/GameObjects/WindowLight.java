@@ -2,13 +2,19 @@ package main.GameObjects;
 
 import java.awt.Color;
 import java.awt.Graphics2D;
+import java.awt.Polygon;
+import java.awt.Rectangle;
 import java.awt.RadialGradientPaint;
 import java.awt.geom.Point2D;
 
+import main.core.QualityGovernor;
+
 /**
  * The {@code WindowLight} class represents a light effect that emanates
  * from a window, with a radial gradient that changes based on the time of day.
  * This light effect is drawn onto a {@code Graphics2D} object.
+ * The beam's shape and gradient are worked out once for each of the {@link TimeOfDayTint#STEPS} time steps,
+ * so drawing only looks them up. Below {@link QualityGovernor.Tier#HIGH} quality the beam is filled with a flat color instead.
  */
 public class WindowLight extends Light {
 
@@ -17,6 +23,12 @@ public class WindowLight extends Light {
     private static final int LIGHT_COLOR_ALPHA_1 = 255;
     private static final int LIGHT_COLOR_ALPHA_2 = 140;
     private static final int OFFSCREEN_OFFSET = 273;
+    // Roughly the gradient's average over the beam
+    private static final int FLAT_COLOR_ALPHA = 70;
+
+    private transient Polygon[] beams;
+    private transient RadialGradientPaint[] paints;
+    private transient Color[] flatColors;
 
     /**
      * Constructs a {@code WindowLight} with the specified position and radius.
@@ -37,39 +49,72 @@ public class WindowLight extends Light {
      */
     @Override
     public void draw(Graphics2D g) {
-        if (isDaytime()) {
+        int step = TimeOfDayTint.getStep(timeOfDay);
+        Polygon beam = getBeams()[step];
+        if (beam != null) {
+            g.setPaint((QualityGovernor.getTier() == QualityGovernor.Tier.HIGH) ? paints[step] : flatColors[step]);
+            g.fillPolygon(beam);
+        }
+    }
+
+    /**
+     * Gets the beam for every time step, working them and their gradients out on first use.
+     *
+     * @return The beams, null at steps where the light is not shown.
+     */
+    private Polygon[] getBeams() {
+        if (beams == null) {
+            Polygon[] stepBeams = new Polygon[TimeOfDayTint.STEPS];
+            paints = new RadialGradientPaint[TimeOfDayTint.STEPS];
+            flatColors = new Color[TimeOfDayTint.STEPS];
             Point2D.Float lightPosition = new Point2D.Float(lightPosX + WINDOW_WIDTH / 2, lightPosY);
-            float lightIntensity = calculateLightIntensity();
-            Color[] lightColors = createLightColors(lightIntensity);
             float[] fractions = {0.0f, 0.3f, 0.8f};
-
-            RadialGradientPaint rgp = new RadialGradientPaint(lightPosition, radius, fractions, lightColors);
-
-            int[] xPoints = calculateXPoints();
             int[] yPoints = {lightPosY, lightPosY, lightPosY + WINDOW_HEIGHT, lightPosY + WINDOW_HEIGHT};
-
-            g.setPaint(rgp);
-            g.fillPolygon(xPoints, yPoints, 4);
+            for (int step = 0; step < TimeOfDayTint.STEPS; step++) {
+                float time = TimeOfDayTint.getTime(step);
+                if (isDaytime(time)) {
+                    float intensity = calculateLightIntensity(time);
+                    Color[] lightColors = createLightColors(intensity);
+                    paints[step] = new RadialGradientPaint(lightPosition, radius, fractions, lightColors);
+                    flatColors[step] = new Color(255, 245, 245, (int) (FLAT_COLOR_ALPHA * intensity));
+                    stepBeams[step] = new Polygon(calculateXPoints(time), yPoints, 4);
+                }
+            }
+            beams = stepBeams;
         }
+        return beams;
+    }
+
+    /**
+     * Gets the area covered by the beam of light, which only shows during the day.
+     *
+     * @return The drawn bounds in world coordinates, empty at night.
+     */
+    @Override
+    public Rectangle getBounds() {
+        Polygon beam = getBeams()[TimeOfDayTint.getStep(timeOfDay)];
+        return (beam != null) ? beam.getBounds() : new Rectangle();
     }
 
     /**
-     * Determines if it is daytime based on the {@code timeOfDay} field.
+     * Determines if it is daytime at a time of day.
      * The light is visible between 0.15 and 0.85 in the {@code timeOfDay} range.
      *
+     * @param timeOfDay The time of day.
      * @return {@code true} if it is daytime, otherwise {@code false}.
      */
-    private boolean isDaytime() {
+    private boolean isDaytime(float timeOfDay) {
         return timeOfDay >= 0.15 && timeOfDay <= 0.85;
     }
 
     /**
-     * Calculates the intensity of the light based on the {@code timeOfDay} field.
+     * Calculates the intensity of the light at a time of day.
      * The intensity varies as the time moves closer to or further from noon (0.5).
      *
+     * @param timeOfDay The time of day.
      * @return The calculated light intensity.
      */
-    private float calculateLightIntensity() {
+    private float calculateLightIntensity(float timeOfDay) {
         return 0.5f - Math.abs(timeOfDay - 0.5f);
     }
 
@@ -92,9 +137,10 @@ public class WindowLight extends Light {
      * Calculates the X coordinates for the polygon that defines the light effect.
      * The polygon shifts based on the time of day to simulate movement of light.
      *
+     * @param timeOfDay The time of day.
      * @return An array of X coordinates for the light polygon.
      */
-    private int[] calculateXPoints() {
+    private int[] calculateXPoints(float timeOfDay) {
         int timeOffset = Math.round(timeOfDay * 1000);
         return new int[] {
             lightPosX,
@@ -2,8 +2,11 @@ package main;
 
 import javax.swing.JFrame;
 import javax.swing.SwingUtilities;
+import main.core.CompatibleImages;
 import main.core.GUI;
 import main.core.GameLoop;
+import main.core.RenderLoop;
+import main.core.Scene;
 import java.awt.image.BufferedImage;
 import java.awt.Graphics2D;
 
@@ -16,6 +19,8 @@ public class Main extends JFrame {
     private static Main instance; // Singleton instance
     private GUI gui;
     private GameLoop gameLoop;
+    private volatile Scene currentScene;
+    private RenderLoop renderLoop;
     private int windowWidth, windowHeight;
 
     /**
@@ -31,6 +36,9 @@ public class Main extends JFrame {
         setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
         setLocationRelativeTo(null);
 
+        // Make decoded images compatible with this window before any are loaded
+        CompatibleImages.setConfiguration(getGraphicsConfiguration());
+
         // Initialize  panels
         gui = new GUI();
         gameLoop = new GameLoop(this);
@@ -38,8 +46,15 @@ public class Main extends JFrame {
 
         // Add GUI panel to frame
         add(gui);
+        currentScene = gui;
 
         setVisible(true);
+
+        // Draw through a BufferStrategy from a paced loop instead of the panels' timers
+        if (RenderLoop.isEnabled()) {
+            renderLoop = new RenderLoop(this, () -> currentScene);
+            renderLoop.start();
+        }
     }
 
     /**
@@ -64,7 +79,8 @@ public class Main extends JFrame {
     public BufferedImage captureGameLoopImage() {
         BufferedImage image = new BufferedImage(gameLoop.getWidth(), gameLoop.getHeight(), BufferedImage.TYPE_INT_ARGB);
         Graphics2D g2d = image.createGraphics();
-        gameLoop.paint(g2d); // Paints the current state of the GameLoop panel into the image
+        g2d.scale(gameLoop.getWidth() / 1920.0, gameLoop.getHeight() / 1080.0);
+        gameLoop.renderSnapshot(g2d, 1f); // Renders the current state of the GameLoop panel into the image, without timing it as a frame
         g2d.dispose();
         return image;
     }
@@ -81,6 +97,7 @@ public class Main extends JFrame {
         mainInstance.remove(mainInstance.gui);
         mainInstance.gui.timerStop();
         mainInstance.add(mainInstance.gameLoop);
+        mainInstance.currentScene = mainInstance.gameLoop;
         mainInstance.revalidate();
         mainInstance.repaint();
         mainInstance.gameLoop.requestFocus(); // Make sure the GameLoop panel can receive input focus
@@ -107,6 +124,7 @@ public class Main extends JFrame {
         mainInstance.remove(mainInstance.gameLoop);
         mainInstance.gameLoop.timerStop();
         mainInstance.add(mainInstance.gui);
+        mainInstance.currentScene = mainInstance.gui;
         mainInstance.revalidate();
         mainInstance.repaint();
         mainInstance.gui.requestFocus(); // Make sure the GUI panel can receive input focus
@@ -0,0 +1,466 @@
+package main.core;
+
+import javax.imageio.ImageIO;
+import java.awt.Image;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBuffer;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * A process-wide, thread-safe cache of decoded images keyed by resource path.
+ * Each image is decoded once per process, and animation frame lists are shared between
+ * every sprite that uses the same resource folder as unmodifiable lists.
+ * Animation folders are loaded per state on first use and the least recently used ones are
+ * evicted once more than {@code -Dreel.maxResidentStates} (32 by default) are resident;
+ * sprites touch the state they show on every tick, so it stays at the recently used end.
+ * Decoding runs on a pool with one worker per core so that a folder's frames decode in parallel.
+ */
+public class AssetCache {
+    private static final ConcurrentMap<String, CompletableFuture<Image>> images = new ConcurrentHashMap<>();
+    private static final Map<String, CompletableFuture<List<Image>>> frames = new LinkedHashMap<>(32, 0.75f, true);
+    private static final ConcurrentMap<String, List<String>> framePaths = new ConcurrentHashMap<>();
+    private static final ConcurrentMap<String, List<String>> folders = new ConcurrentHashMap<>();
+
+    private static final AtomicLong hits = new AtomicLong();
+    private static final AtomicLong misses = new AtomicLong();
+    private static final AtomicLong bytesResident = new AtomicLong();
+
+    private static final AtomicInteger decoderCount = new AtomicInteger();
+    private static final ThreadLocal<Boolean> onDecoder = ThreadLocal.withInitial(() -> false);
+    private static final ExecutorService decoder = Executors.newFixedThreadPool(
+            Math.max(1, Runtime.getRuntime().availableProcessors()), runnable -> {
+                Thread thread = new Thread(() -> {
+                    onDecoder.set(true);
+                    runnable.run();
+                }, "image-decoder-" + decoderCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+    private static final ExecutorService prefetcher = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "frame-prefetcher");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private static volatile int maxResidentStates = Integer.getInteger("reel.maxResidentStates", 32);
+
+    private AssetCache() {
+    }
+
+    /**
+     * Returns the decoded image for a resource, decoding it on first use.
+     * Frames that were packed by the build are cut from their {@link TextureAtlas} page instead.
+     *
+     * @param path The resource path of the image, with or without a leading slash.
+     * @return The shared Image, or null if the resource could not be loaded.
+     */
+    public static Image getImage(String path) {
+        String key = normalize(path);
+        CompletableFuture<Image> image = images.get(key);
+        if (image == null) {
+            // Only the thread whose entry goes in decodes; the map is not locked while it does
+            CompletableFuture<Image> created = new CompletableFuture<>();
+            image = images.putIfAbsent(key, created);
+            if (image == null) {
+                misses.incrementAndGet();
+                return load(key, created);
+            }
+        }
+        hits.incrementAndGet();
+        return image.join();
+    }
+
+    /**
+     * Loads an image and completes its entry. An image that cannot be loaded is not kept, so a later
+     * lookup tries again.
+     *
+     * @param key The normalized resource path.
+     * @param entry The entry this thread put in the cache.
+     * @return The image, or null if the resource could not be loaded.
+     */
+    private static Image load(String key, CompletableFuture<Image> entry) {
+        Image loaded;
+        try {
+            // Frames packed into an atlas share their page's pixels, which the page itself accounts for
+            TextureAtlas.Region region = TextureAtlas.findRegion(key);
+            if (region != null) {
+                loaded = region.getImage();
+            } else {
+                loaded = decode(key);
+                if (loaded != null) {
+                    bytesResident.addAndGet(estimateBytes(loaded));
+                }
+            }
+        } catch (RuntimeException e) {
+            images.remove(key, entry);
+            entry.completeExceptionally(e);
+            throw e;
+        }
+        if (loaded == null) {
+            images.remove(key, entry);
+        }
+        entry.complete(loaded);
+        return loaded;
+    }
+
+    /**
+     * Returns the decoded image for a resource, decoding it on the worker pool if it is not cached,
+     * so callers can start several decodes at once and collect them later.
+     *
+     * @param path The resource path of the image, with or without a leading slash.
+     * @return A future holding the shared Image, or null if the resource could not be loaded.
+     */
+    public static CompletableFuture<Image> getImageAsync(String path) {
+        CompletableFuture<Image> image = images.get(normalize(path));
+        if (image != null) {
+            hits.incrementAndGet();
+            return image;
+        }
+        // A decode that needs another image (an atlas frame needing its page) decodes it in place,
+        // so a pool full of waiting workers can never deadlock
+        if (onDecoder.get()) {
+            return CompletableFuture.completedFuture(getImage(path));
+        }
+        return CompletableFuture.supplyAsync(() -> getImage(path), decoder);
+    }
+
+    /**
+     * Decodes an image on the worker pool even when called from a worker, for loads that are never
+     * waited on by a worker. Returns at once if the image is cached.
+     *
+     * @param path The resource path of the image, with or without a leading slash.
+     * @return A future holding the shared Image, or null if the resource could not be loaded.
+     */
+    static CompletableFuture<Image> decodeAsync(String path) {
+        CompletableFuture<Image> image = images.get(normalize(path));
+        if (image != null) {
+            hits.incrementAndGet();
+            return image;
+        }
+        return CompletableFuture.supplyAsync(() -> getImage(path), decoder);
+    }
+
+    /**
+     * Gets whether the calling thread is one of the decode workers.
+     *
+     * @return True on a decode worker.
+     */
+    static boolean isDecoderThread() {
+        return onDecoder.get();
+    }
+
+    /**
+     * Returns the frames of a single animation folder, listing and decoding them on first use.
+     * At most {@link #getMaxResidentStates()} folders stay resident; loading another one evicts
+     * the least recently used folder and releases its decoded frames.
+     *
+     * @param folder The resource folder holding the frames.
+     * @param lister Lists the frame paths inside the folder; only called on a miss.
+     * @return An unmodifiable list of frames shared by every caller.
+     */
+    public static List<Image> getFrames(String folder, Function<String, List<String>> lister) {
+        String key = normalize(folder);
+        CompletableFuture<List<Image>> animation;
+        boolean load = false;
+        synchronized (frames) {
+            animation = frames.get(key);
+            if (animation == null) {
+                animation = new CompletableFuture<>();
+                frames.put(key, animation);
+                load = true;
+            }
+        }
+        if (load) {
+            misses.incrementAndGet();
+            loadFrames(key, lister, animation);
+        } else {
+            hits.incrementAndGet();
+        }
+        return animation.join();
+    }
+
+    /**
+     * Marks an animation folder as in use, so it is the last to be evicted. Sprites call this while they
+     * show a state, since loading a state is otherwise the only thing that moves it up the eviction order.
+     *
+     * @param folder The resource folder holding the frames.
+     * @return True if the folder is still resident, false if it was evicted and has to be loaded again.
+     */
+    public static boolean touchFrames(String folder) {
+        synchronized (frames) {
+            return frames.get(normalize(folder)) != null;
+        }
+    }
+
+    /**
+     * Starts loading the frames of an animation folder in the background if they are not resident,
+     * so a later {@link #getFrames} for a likely next state does not stall.
+     *
+     * @param folder The resource folder holding the frames.
+     * @param lister Lists the frame paths inside the folder.
+     */
+    public static void prefetchFrames(String folder, Function<String, List<String>> lister) {
+        String key = normalize(folder);
+        CompletableFuture<List<Image>> animation;
+        synchronized (frames) {
+            if (frames.containsKey(key)) {
+                return;
+            }
+            animation = new CompletableFuture<>();
+            frames.put(key, animation);
+        }
+        misses.incrementAndGet();
+        prefetcher.execute(() -> loadFrames(key, lister, animation));
+    }
+
+    /**
+     * Lists and decodes a folder's frames and completes its pending entry.
+     *
+     * @param key The normalized folder path.
+     * @param lister Lists the frame paths inside the folder.
+     * @param animation The entry to complete.
+     */
+    private static void loadFrames(String key, Function<String, List<String>> lister, CompletableFuture<List<Image>> animation) {
+        try {
+            // Let the state's atlas pages decode on the pool while the frames are listed
+            CompletableFuture<?> atlas = TextureAtlas.preload(key);
+            List<String> paths = new ArrayList<>(lister.apply(key));
+            atlas.join();
+            // Decode every frame on the worker pool, then collect them in frame order
+            List<CompletableFuture<Image>> decoding = new ArrayList<>();
+            for (String imagePath : paths) {
+                decoding.add(getImageAsync(imagePath));
+            }
+            List<Image> loaded = new ArrayList<>();
+            for (CompletableFuture<Image> frame : decoding) {
+                loaded.add(frame.join());
+            }
+            framePaths.put(key, paths);
+            animation.complete(Collections.unmodifiableList(loaded));
+        } catch (RuntimeException e) {
+            synchronized (frames) {
+                frames.remove(key, animation);
+            }
+            animation.completeExceptionally(e);
+        }
+        evictStates();
+    }
+
+    /**
+     * Evicts the least recently used animation folders beyond the residency cap, releasing
+     * their decoded frames and atlas pages. Folders that are still loading are never evicted.
+     */
+    private static void evictStates() {
+        List<String> evicted = new ArrayList<>();
+        synchronized (frames) {
+            Iterator<Map.Entry<String, CompletableFuture<List<Image>>>> iterator = frames.entrySet().iterator();
+            int excess = frames.size() - maxResidentStates;
+            while (excess > 0 && iterator.hasNext()) {
+                Map.Entry<String, CompletableFuture<List<Image>>> entry = iterator.next();
+                if (entry.getValue().isDone()) {
+                    iterator.remove();
+                    evicted.add(entry.getKey());
+                    excess--;
+                }
+            }
+        }
+        for (String key : evicted) {
+            List<String> paths = framePaths.remove(key);
+            if (paths == null) {
+                continue;
+            }
+            for (String imagePath : paths) {
+                CompletableFuture<Image> entry = images.remove(normalize(imagePath));
+                Image image = (entry != null) ? entry.getNow(null) : null;
+                // Atlas frames share their page, which is counted once and released below
+                if (image != null && TextureAtlas.getRegion(image) == null) {
+                    bytesResident.addAndGet(-estimateBytes(image));
+                }
+            }
+            // Each state is packed into its own pages, so they go with it
+            for (String pagePath : TextureAtlas.release(key)) {
+                CompletableFuture<Image> entry = images.remove(normalize(pagePath));
+                Image page = (entry != null) ? entry.getNow(null) : null;
+                if (page != null) {
+                    bytesResident.addAndGet(-estimateBytes(page));
+                }
+            }
+        }
+    }
+
+    /**
+     * Sets how many animation folders may stay resident before the coldest are evicted.
+     *
+     * @param states The maximum number of resident animation folders.
+     */
+    public static void setMaxResidentStates(int states) {
+        maxResidentStates = Math.max(1, states);
+        evictStates();
+    }
+
+    /**
+     * Gets how many animation folders may stay resident.
+     *
+     * @return The residency cap.
+     */
+    public static int getMaxResidentStates() {
+        return maxResidentStates;
+    }
+
+    /**
+     * Gets how many animation folders are currently resident or loading.
+     *
+     * @return The number of resident animation folders.
+     */
+    public static int getResidentStates() {
+        synchronized (frames) {
+            return frames.size();
+        }
+    }
+
+    /**
+     * Returns the animation subfolders of a resource folder, listing them on first use.
+     *
+     * @param path The resource folder containing one subfolder per animation state.
+     * @param lister Lists the subfolders of the folder; only called on a miss.
+     * @return An unmodifiable list of subfolder paths.
+     */
+    public static List<String> getFolders(String path, Function<String, List<String>> lister) {
+        return folders.computeIfAbsent(normalize(path), k -> Collections.unmodifiableList(new ArrayList<>(lister.apply(k))));
+    }
+
+    /**
+     * Gets the number of lookups that were served from the cache.
+     *
+     * @return The cache hit count.
+     */
+    public static long getHits() {
+        return hits.get();
+    }
+
+    /**
+     * Gets the number of lookups that had to load from the resources.
+     *
+     * @return The cache miss count.
+     */
+    public static long getMisses() {
+        return misses.get();
+    }
+
+    /**
+     * Gets the estimated number of bytes held by the decoded images in the cache.
+     *
+     * @return The resident size in bytes.
+     */
+    public static long getBytesResident() {
+        return bytesResident.get();
+    }
+
+    /**
+     * Converts a resource path into the key used by the cache, which is relative to the classpath root.
+     *
+     * @param path The resource path.
+     * @return The path without a leading slash.
+     */
+    static String normalize(String path) {
+        return path.startsWith("/") ? path.substring(1) : path;
+    }
+
+    /**
+     * Estimates the memory held by an image's pixel data.
+     *
+     * @param image The image to measure.
+     * @return The size of the image's backing data in bytes.
+     */
+    static long estimateBytes(Image image) {
+        if (image instanceof BufferedImage) {
+            DataBuffer buffer = ((BufferedImage) image).getRaster().getDataBuffer();
+            return (long) buffer.getSize() * buffer.getNumBanks() * DataBuffer.getDataTypeSize(buffer.getDataType()) / 8;
+        }
+        return (long) Math.max(0, image.getWidth(null)) * Math.max(0, image.getHeight(null)) * 4;
+    }
+
+    /**
+     * Decodes an image from the classpath (from within the JAR if needed) and converts it
+     * into a display-compatible image so later draws take the fast blit path.
+     * When the {@link RasterCache} holds a current copy of the decoded pixels the PNG is not inflated.
+     *
+     * @param key The normalized resource path.
+     * @return The decoded image, or null if there was an error.
+     */
+    private static Image decode(String key) {
+        try (InputStream is = AssetCache.class.getClassLoader().getResourceAsStream(key)) {
+            if (is != null) {
+                if (!RasterCache.isEnabled()) {
+                    return prepare(key, ImageIO.read(is));
+                }
+                byte[] png = readFully(is);
+                BufferedImage image = RasterCache.load(key, png);
+                if (image == null) {
+                    image = ImageIO.read(new ByteArrayInputStream(png));
+                    if (image != null) {
+                        RasterCache.store(key, png, image);
+                    }
+                }
+                return prepare(key, image);
+            } else {
+                System.err.println("Resource not found: /" + key);
+                return null;
+            }
+        } catch (IOException e) {
+            System.err.println("Error loading image: " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Converts a decoded image into the form it is kept in: palette-indexed when
+     * {@link PaletteImages} is enabled and the image has few enough colours, otherwise display-compatible.
+     *
+     * @param key The normalized resource path.
+     * @param image The decoded image.
+     * @return The image to cache, or null if it could not be decoded.
+     */
+    private static BufferedImage prepare(String key, BufferedImage image) {
+        if (image != null && PaletteImages.isEnabled()) {
+            BufferedImage indexed = PaletteImages.toIndexed(key, image);
+            if (indexed != null) {
+                return indexed;
+            }
+        }
+        return CompatibleImages.toCompatible(image);
+    }
+
+    /**
+     * Reads a stream to the end.
+     *
+     * @param is The stream to read.
+     * @return Every byte of the stream.
+     * @throws IOException if the stream cannot be read.
+     */
+    private static byte[] readFully(InputStream is) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] chunk = new byte[8192];
+        int read;
+        while ((read = is.read(chunk)) != -1) {
+            out.write(chunk, 0, read);
+        }
+        return out.toByteArray();
+    }
+}
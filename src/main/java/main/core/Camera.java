@@ -1,5 +1,7 @@
 package main.core;
 
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
 import java.lang.Math;
 
 import main.Main;
@@ -8,11 +10,15 @@ import main.GameObjects.Player;
 /**
  * Represents a camera that follows the player within the game world.
  * The camera adjusts its position based on the player's movement to keep the player in view.
+ * World objects stay in world coordinates; the camera's offset is applied once as a translation
+ * when the world is drawn, and inverted to turn mouse positions into world coordinates.
  */
 public class Camera {
     private GameData gameData;
     private Player player;
     private int dx, dy;
+    private int offsetX, offsetY;
+    private int previousOffsetX, previousOffsetY;
 
     /**
      * Constructs a Camera instance with the specified parameters.
@@ -33,37 +39,141 @@ public class Camera {
      * Adjusts the camera to keep the player within the defined bounds of the game world.
      */
     public void cameraMove() {
+        previousOffsetX = offsetX;
+        previousOffsetY = offsetY;
         if(gameData.getCameraBounds()==0){
             dx=0;
             dy=0;
             return;
         }
-        float playerRight = player.getX() + player.getW();
-        float playerBottom = player.getY() + player.getH();
+        // Where the player is on screen with the current offset
+        int screenX = player.getX() + offsetX;
+        int screenY = player.getY() + offsetY;
         float boundedHeight = Main.getWindowHeight() * gameData.getCameraBounds();
         float boundedWidth = Main.getWindowWidth() * gameData.getCameraBounds();
 
         // Horizontal camera movement
-        if (playerRight > boundedWidth) {
-            dx = speedAdjusted(-player.getDx());
-            player.setX(Math.round(boundedWidth - player.getW()));
-        } else if (player.getX() < (Main.getWindowWidth() - boundedWidth)) {
-            dx = speedAdjusted(-player.getDx());
-            player.setX(Math.round(Main.getWindowWidth() - boundedWidth));
+        if (screenX + player.getW() > boundedWidth) {
+            dx = speedAdjusted(Math.round(boundedWidth - player.getW()) - screenX);
+        } else if (screenX < (Main.getWindowWidth() - boundedWidth)) {
+            dx = speedAdjusted(Math.round(Main.getWindowWidth() - boundedWidth) - screenX);
         } else {
             dx = 0;
         }
 
         // Vertical camera movement
-        if (playerBottom > boundedHeight) {
-            dy = speedAdjusted(-player.getDy());
-            player.setY(Math.round(boundedHeight - player.getH()));
-        } else if (player.getY() < (Main.getWindowHeight() - boundedHeight)) {
-            dy = speedAdjusted(-player.getDy());
-            player.setY(Math.round(Main.getWindowHeight() - boundedHeight));
+        if (screenY + player.getH() > boundedHeight) {
+            dy = speedAdjusted(Math.round(boundedHeight - player.getH()) - screenY);
+        } else if (screenY < (Main.getWindowHeight() - boundedHeight)) {
+            dy = speedAdjusted(Math.round(Main.getWindowHeight() - boundedHeight) - screenY);
         } else {
             dy = 0;
         }
+
+        offsetX += dx;
+        offsetY += dy;
+    }
+
+    /**
+     * Translates a Graphics2D context from screen to world coordinates, interpolating the
+     * offset between the last two ticks. Undo it with {@link #unapply(Graphics2D, float)}.
+     *
+     * @param g The Graphics2D context to translate.
+     * @param alpha How far the frame is between the previous tick and the latest one.
+     */
+    public void apply(Graphics2D g, float alpha) {
+        g.translate(getOffsetX(alpha), getOffsetY(alpha));
+    }
+
+    /**
+     * Reverses {@link #apply(Graphics2D, float)}.
+     *
+     * @param g The Graphics2D context to translate back.
+     * @param alpha The same interpolation factor passed to apply.
+     */
+    public void unapply(Graphics2D g, float alpha) {
+        g.translate(-getOffsetX(alpha), -getOffsetY(alpha));
+    }
+
+    /**
+     * Converts a screen x-coordinate (in the 1920x1080 design resolution) to a world x-coordinate.
+     *
+     * @param screenX The x-coordinate on screen.
+     * @return The x-coordinate in the world.
+     */
+    public int toWorldX(int screenX) {
+        return screenX - offsetX;
+    }
+
+    /**
+     * Converts a screen y-coordinate (in the 1920x1080 design resolution) to a world y-coordinate.
+     *
+     * @param screenY The y-coordinate on screen.
+     * @return The y-coordinate in the world.
+     */
+    public int toWorldY(int screenY) {
+        return screenY - offsetY;
+    }
+
+    /**
+     * Converts a world x-coordinate to a screen x-coordinate (in the 1920x1080 design resolution).
+     *
+     * @param worldX The x-coordinate in the world.
+     * @return The x-coordinate on screen.
+     */
+    public int toScreenX(int worldX) {
+        return worldX + offsetX;
+    }
+
+    /**
+     * Converts a world y-coordinate to a screen y-coordinate (in the 1920x1080 design resolution).
+     *
+     * @param worldY The y-coordinate in the world.
+     * @return The y-coordinate on screen.
+     */
+    public int toScreenY(int worldY) {
+        return worldY + offsetY;
+    }
+
+    /**
+     * Gets the part of the world currently on screen.
+     *
+     * @return The visible area in world coordinates.
+     */
+    public Rectangle getViewport() {
+        return new Rectangle(-offsetX, -offsetY, 1920, 1080);
+    }
+
+    /**
+     * Moves the camera back to the world origin, e.g. when a new level is loaded.
+     */
+    public void reset() {
+        offsetX = 0;
+        offsetY = 0;
+        previousOffsetX = 0;
+        previousOffsetY = 0;
+        dx = 0;
+        dy = 0;
+    }
+
+    /**
+     * Gets the horizontal translation from world to screen, interpolated between the last two ticks.
+     *
+     * @param alpha How far the frame is between the previous tick and the latest one.
+     * @return The x offset.
+     */
+    public int getOffsetX(float alpha) {
+        return Math.round(previousOffsetX + (offsetX - previousOffsetX) * alpha);
+    }
+
+    /**
+     * Gets the vertical translation from world to screen, interpolated between the last two ticks.
+     *
+     * @param alpha How far the frame is between the previous tick and the latest one.
+     * @return The y offset.
+     */
+    public int getOffsetY(float alpha) {
+        return Math.round(previousOffsetY + (offsetY - previousOffsetY) * alpha);
     }
 
     /**
@@ -78,7 +188,21 @@ public class Camera {
     }
 
     /**
-     * Gets the current x-direction speed of the camera.
+     * Gets the current horizontal translation from world to screen.
+     *
+     * @return The x offset.
+     */
+    public int getOffsetX() { return offsetX; }
+
+    /**
+     * Gets the current vertical translation from world to screen.
+     *
+     * @return The y offset.
+     */
+    public int getOffsetY() { return offsetY; }
+
+    /**
+     * Gets how far the camera scrolled horizontally on the last tick.
      *
      * @return The x-direction speed of the camera.
      */
@@ -92,7 +216,7 @@ public class Camera {
     public void setDx(int dx) { this.dx = dx; }
 
     /**
-     * Gets the current y-direction speed of the camera.
+     * Gets how far the camera scrolled vertically on the last tick.
      *
      * @return The y-direction speed of the camera.
      */
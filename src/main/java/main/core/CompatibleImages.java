@@ -0,0 +1,113 @@
+package main.core;
+
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.GraphicsEnvironment;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+
+/**
+ * Converts decoded images into images compatible with the display's {@link GraphicsConfiguration}.
+ * ImageIO often returns custom-typed or palette images which Java2D draws through slow generic loops,
+ * whereas compatible images take the accelerated or intrinsic blit path on every draw.
+ */
+public class CompatibleImages {
+    // Read from the decode workers, so writes must be visible across threads
+    private static volatile GraphicsConfiguration configuration;
+
+    private CompatibleImages() {
+    }
+
+    /**
+     * Converts an image into one compatible with the display, keeping the smallest transparency mode
+     * that represents its pixels exactly.
+     *
+     * @param image The decoded image.
+     * @return A compatible copy of the image, or the image itself if it is already compatible.
+     */
+    public static BufferedImage toCompatible(BufferedImage image) {
+        if (image == null) {
+            return null;
+        }
+        int transparency = detectTransparency(image);
+        BufferedImage compatible = create(image.getWidth(), image.getHeight(), transparency);
+        if (compatible.getColorModel().equals(image.getColorModel())
+                && compatible.getType() == image.getType()) {
+            return image;
+        }
+        Graphics2D g = compatible.createGraphics();
+        g.drawImage(image, 0, 0, null);
+        g.dispose();
+        return compatible;
+    }
+
+    /**
+     * Creates an empty image compatible with the display.
+     *
+     * @param w The width of the image.
+     * @param h The height of the image.
+     * @param transparency One of the {@link Transparency} constants.
+     * @return The new image.
+     */
+    public static BufferedImage create(int w, int h, int transparency) {
+        GraphicsConfiguration gc = getConfiguration();
+        if (gc != null) {
+            return gc.createCompatibleImage(w, h, transparency);
+        }
+        int type = (transparency == Transparency.OPAQUE) ? BufferedImage.TYPE_INT_RGB : BufferedImage.TYPE_INT_ARGB;
+        return new BufferedImage(w, h, type);
+    }
+
+    /**
+     * Works out which transparency mode an image actually needs by inspecting its alpha values.
+     * Pixel art usually only uses fully opaque or fully transparent pixels, which fit in a bitmask.
+     *
+     * @param image The image to inspect.
+     * @return {@link Transparency#OPAQUE}, {@link Transparency#BITMASK} or {@link Transparency#TRANSLUCENT}.
+     */
+    public static int detectTransparency(BufferedImage image) {
+        if (!image.getColorModel().hasAlpha()) {
+            return Transparency.OPAQUE;
+        }
+        int w = image.getWidth();
+        int h = image.getHeight();
+        int[] row = new int[w];
+        boolean hasTransparent = false;
+        for (int y = 0; y < h; y++) {
+            image.getRGB(0, y, w, 1, row, 0, w);
+            for (int argb : row) {
+                int alpha = argb >>> 24;
+                if (alpha == 0) {
+                    hasTransparent = true;
+                } else if (alpha != 255) {
+                    return Transparency.TRANSLUCENT;
+                }
+            }
+        }
+        return hasTransparent ? Transparency.BITMASK : Transparency.OPAQUE;
+    }
+
+    /**
+     * Sets the configuration images should be made compatible with, normally the game window's.
+     *
+     * @param gc The graphics configuration of the window.
+     */
+    public static void setConfiguration(GraphicsConfiguration gc) {
+        configuration = gc;
+    }
+
+    /**
+     * Gets the configuration images are made compatible with, falling back to the default screen.
+     *
+     * @return The graphics configuration, or null when running headless.
+     */
+    public static GraphicsConfiguration getConfiguration() {
+        GraphicsConfiguration gc = configuration;
+        if (gc == null && !GraphicsEnvironment.isHeadless()) {
+            gc = GraphicsEnvironment.getLocalGraphicsEnvironment()
+                    .getDefaultScreenDevice().getDefaultConfiguration();
+            configuration = gc;
+        }
+        return gc;
+    }
+}
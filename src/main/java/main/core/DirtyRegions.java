@@ -0,0 +1,190 @@
+package main.core;
+
+import java.awt.Rectangle;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import javax.swing.JComponent;
+
+/**
+ * Collects the parts of the 1920x1080 screen that have changed since the last paint, so only those
+ * are recomposited and repainted instead of the whole frame.
+ * Moving or animating elements are tracked by key: when an element's screen bounds or appearance change,
+ * both where it was and where it is now are marked. Changes that affect every pixel, such as the camera
+ * scrolling or the day tint changing color, are watched by value and mark the whole screen.
+ * Marked areas that overlap are merged, and each merged area is painted on its own, so two small changes at
+ * opposite corners do not repaint everything between them.
+ * Disabled with {@code -Dreel.dirtyRegions=false}, in which case every frame is repainted in full.
+ */
+public class DirtyRegions {
+    private static final boolean ENABLED = Boolean.parseBoolean(System.getProperty("reel.dirtyRegions", "true"));
+    private static final int SCREEN_WIDTH = 1920;
+    private static final int SCREEN_HEIGHT = 1080;
+    private static final int PADDING = 2;
+
+    private final Map<Object, Rectangle> bounds = new HashMap<>();
+    private final Map<Object, Object> appearances = new HashMap<>();
+    private final Map<Object, Object> watched = new HashMap<>();
+    private final List<Rectangle> dirty = new ArrayList<>();
+    private final List<Rectangle> merged = new ArrayList<>();
+    private boolean full = true;
+    private long paintedArea = 0;
+    private int paintedRegions = 0;
+
+    /**
+     * Gets whether dirty-region repainting is enabled.
+     *
+     * @return True unless disabled with {@code -Dreel.dirtyRegions=false}.
+     */
+    public static boolean isEnabled() {
+        return ENABLED;
+    }
+
+    /**
+     * Marks the whole screen as needing a redraw.
+     */
+    public void markAll() {
+        full = true;
+    }
+
+    /**
+     * Marks an area of the screen as needing a redraw.
+     *
+     * @param area The area in screen coordinates; null or empty areas are ignored.
+     */
+    public void mark(Rectangle area) {
+        if (area != null && !area.isEmpty()) {
+            dirty.add(new Rectangle(area));
+        }
+    }
+
+    /**
+     * Records where an element is drawn and what it looks like. If either differs from the last call
+     * with the same key, both the old and new bounds are marked.
+     *
+     * @param key Identifies the element between calls.
+     * @param area The element's screen bounds, or null if it is not drawn.
+     * @param appearance What the element currently shows, e.g. its animation frame,
+     *                   or null if it changes on every frame and is always redrawn.
+     */
+    public void track(Object key, Rectangle area, Object appearance) {
+        Rectangle previous = bounds.get(key);
+        boolean changed = appearance == null || !Objects.equals(previous, area)
+                || !Objects.equals(appearances.get(key), appearance);
+        if (changed) {
+            mark(previous);
+            mark(area);
+        }
+        if (area == null) {
+            bounds.remove(key);
+        } else {
+            bounds.put(key, new Rectangle(area));
+        }
+        appearances.put(key, appearance);
+    }
+
+    /**
+     * Records a value that affects the whole screen, marking everything when it differs from the last call.
+     *
+     * @param key Identifies the value between calls.
+     * @param value The current value.
+     */
+    public void watch(Object key, Object value) {
+        if (!Objects.equals(watched.put(key, value), value)) {
+            full = true;
+        }
+    }
+
+    /**
+     * Gets whether the next paint has to redraw the whole screen.
+     *
+     * @return True if the whole screen is marked.
+     */
+    public boolean isFull() {
+        return full;
+    }
+
+    /**
+     * Paints everything marked since the last flush, scaled from the 1920x1080 design resolution to the
+     * component's size, and clears the marks. Overlapping areas are merged and each merged area is painted
+     * straight away on its own; {@link javax.swing.RepaintManager} would otherwise paint the bounding box of
+     * them all. Must be called on the Event Dispatch Thread. Repaints in full when disabled.
+     *
+     * @param component The component showing the screen.
+     */
+    public void flush(JComponent component) {
+        if (!ENABLED || full) {
+            component.repaint();
+            paintedArea = (long) SCREEN_WIDTH * SCREEN_HEIGHT;
+            paintedRegions = 1;
+        } else {
+            double scaleX = component.getWidth() / (double) SCREEN_WIDTH;
+            double scaleY = component.getHeight() / (double) SCREEN_HEIGHT;
+            Rectangle screen = new Rectangle(0, 0, component.getWidth(), component.getHeight());
+            merged.clear();
+            for (Rectangle area : dirty) {
+                // Round outwards and pad, so scaled and antialiased edges are covered
+                int x1 = (int) Math.floor(area.x * scaleX) - PADDING;
+                int y1 = (int) Math.floor(area.y * scaleY) - PADDING;
+                int x2 = (int) Math.ceil((area.x + area.width) * scaleX) + PADDING;
+                int y2 = (int) Math.ceil((area.y + area.height) * scaleY) + PADDING;
+                Rectangle painted = screen.intersection(new Rectangle(x1, y1, x2 - x1, y2 - y1));
+                if (!painted.isEmpty()) {
+                    merge(painted);
+                }
+            }
+            long area = 0;
+            for (Rectangle painted : merged) {
+                component.paintImmediately(painted);
+                area += (long) painted.width * painted.height;
+            }
+            // Reported in the design resolution whatever the window size
+            paintedArea = (screen.isEmpty()) ? 0 : Math.round(area / (scaleX * scaleY));
+            paintedRegions = merged.size();
+        }
+        dirty.clear();
+        full = false;
+    }
+
+    /**
+     * Gets how much of the screen the last flush painted, for the debug overlay.
+     *
+     * @return The painted area in pixels of the 1920x1080 design resolution.
+     */
+    public long getPaintedArea() {
+        return paintedArea;
+    }
+
+    /**
+     * Gets how many separate areas the last flush painted, for the debug overlay.
+     *
+     * @return The number of areas.
+     */
+    public int getPaintedRegions() {
+        return paintedRegions;
+    }
+
+    /**
+     * Adds an area to the merged areas, combining it with every area it overlaps. A combined area can
+     * overlap others it did not before, so they are combined in turn until none overlap.
+     *
+     * @param area The area to add, in component pixels.
+     */
+    private void merge(Rectangle area) {
+        Rectangle combined = new Rectangle(area);
+        boolean grew = true;
+        while (grew) {
+            grew = false;
+            for (int i = merged.size() - 1; i >= 0; i--) {
+                if (merged.get(i).intersects(combined)) {
+                    combined.add(merged.remove(i));
+                    grew = true;
+                }
+            }
+        }
+        merged.add(combined);
+    }
+}
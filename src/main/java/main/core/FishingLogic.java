@@ -4,8 +4,6 @@ import java.awt.Color;
 import java.util.List;
 import java.util.Random;
 
-import main.GUI.TextTemp;
-import main.GUI.Text;
 import main.GameObjects.ChargeMeter;
 import main.GameObjects.Fish;
 import main.GameObjects.FishingLine;
@@ -44,11 +42,12 @@ public class FishingLogic {
      * @param chargePower    The power of the cast.
      * @param gameData       The game data containing the environment and fishing spots.
      * @param possibleFishes The list of possible fish to catch.
-     * @param texts          The list of texts to display.
+     * @param texts          The temporary texts shown over the game.
+     * @param camera         The camera, for placing texts on screen.
      * @param fishingState   The current fishing state.
      * @return The updated fishing state.
      */
-    public FishingState update(boolean isMouseHeld, boolean isLeftHeld, boolean isRightHeld, ChargeMeter chargeMeter, Player player, float chargePower, GameData gameData, List<Fish> possibleFishes, List<Text> texts, FishingState fishingState, Water water) {
+    public FishingState update(boolean isMouseHeld, boolean isLeftHeld, boolean isRightHeld, ChargeMeter chargeMeter, Player player, float chargePower, GameData gameData, List<Fish> possibleFishes, TransientTexts texts, Camera camera, FishingState fishingState, Water water) {
         this.fishingState = fishingState;
         if (fishingState != FishingState.FALSE) {
             switch (fishingState) {
@@ -65,7 +64,7 @@ public class FishingLogic {
                     handleReeling(isLeftHeld, isRightHeld, isMouseHeld, player);
                     break;
                 case CAUGHT:
-                    handleCaught(player, texts);
+                    handleCaught(player, texts, camera);
                     break;
                 case IDLE:
                     handleIdle(player);
@@ -102,7 +101,6 @@ public class FishingLogic {
         if (!player.getState().equals("casting")) {
             player.setState("casting");
             player.refreshAnimation();
-            player.setAnimationSpeed(10);
         }
 
         if (player.getIsAnimationComplete()) {
@@ -113,7 +111,6 @@ public class FishingLogic {
             fishingState = FishingState.WAITING;
             player.setState("idle_fishing");
             player.refreshAnimation();
-            player.setAnimationSpeed(5);
             
         }
     }
@@ -186,27 +183,28 @@ public class FishingLogic {
      * In this phase, the player catches the fish and updates the game state.
      * 
      * @param player  The player object.
-     * @param texts   The list of texts to display information about the fish.
+     * @param texts   The temporary texts to show information about the fish in.
+     * @param camera  The camera, for placing the texts above the player on screen.
      */
-    private void handleCaught(Player player, List<Text> texts)  {
+    private void handleCaught(Player player, TransientTexts texts, Camera camera)  {
         fishingLine = null;
 
         if (!player.getState().equals("catching")) {
             player.setState("catching");
             player.refreshAnimation();
-            player.setAnimationSpeed(10);
         }
 
         if (player.getIsAnimationComplete()) {
             fishingState = FishingState.IDLE;
             player.refreshAnimation();
-            player.setAnimationSpeed(5);
             
             
             fish.setWeight(Math.round(fish.getWeight()*fishWeightMultiplier));
             Database.setFishWeight(fish);
-            texts.add(new TextTemp(1920 / 4, player.getY() - 200, 100, fish.getName(), Color.white, 100));
-            texts.add(new TextTemp(1920 / 3, player.getY() - 100, 100, String.valueOf(fish.getWeight()) + "lb", Color.white, 100));
+            // Texts are drawn in screen space, so place them from where the player is on screen
+            int playerScreenY = camera.toScreenY(player.getY());
+            texts.show(1920 / 4, playerScreenY - 200, 100, fish.getName(), Color.white, 100);
+            texts.show(1920 / 3, playerScreenY - 100, 100, String.valueOf(fish.getWeight()) + "lb", Color.white, 100);
             fish = null;
         }
     }
@@ -0,0 +1,61 @@
+package main.core;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Turns real elapsed time into a whole number of fixed-length simulation ticks.
+ * Movement speeds are tuned per tick, so running a constant number of ticks per second keeps
+ * gameplay speed independent of how often or how late frames are drawn. Leftover time is kept
+ * in an accumulator and exposed as an interpolation factor for rendering between the last two ticks.
+ * After a long stall at most {@code -Dreel.maxCatchUpTicks} ticks (5 by default) are run and the
+ * rest of the backlog is dropped, so the game slows down instead of spiralling.
+ */
+public class FixedTimestep {
+    /** The tick length the game's per-tick speeds were tuned for. */
+    public static final long TICK_NANOS = TimeUnit.MILLISECONDS.toNanos(16);
+    private static final int MAX_CATCH_UP_TICKS = Math.max(1, Integer.getInteger("reel.maxCatchUpTicks", 5));
+
+    private long lastTime;
+    private long accumulator;
+
+    /**
+     * Constructs a FixedTimestep starting from now.
+     */
+    public FixedTimestep() {
+        reset();
+    }
+
+    /**
+     * Adds the time elapsed since the last call and takes as many whole ticks as it covers.
+     *
+     * @return The number of ticks to simulate, at most the catch-up cap.
+     */
+    public int advance() {
+        long now = System.nanoTime();
+        accumulator += now - lastTime;
+        lastTime = now;
+        int ticks = (int) Math.min(accumulator / TICK_NANOS, MAX_CATCH_UP_TICKS);
+        accumulator -= ticks * TICK_NANOS;
+        if (accumulator >= TICK_NANOS) {
+            accumulator = TICK_NANOS - 1;
+        }
+        return ticks;
+    }
+
+    /**
+     * Gets how far the current time is between the last tick and the next one.
+     *
+     * @return A factor from 0 (at the last tick) towards 1 (at the next).
+     */
+    public float getAlpha() {
+        return accumulator / (float) TICK_NANOS;
+    }
+
+    /**
+     * Restarts timing from now and discards any accumulated time, e.g. when a paused scene resumes.
+     */
+    public void reset() {
+        lastTime = System.nanoTime();
+        accumulator = 0;
+    }
+}
@@ -32,8 +32,9 @@ import java.awt.image.BufferedImage;
  * It extends JPanel and implements ActionListener to handle periodic updates
  * via a timer. The GUI class is responsible for rendering pages, handling
  * mouse interactions, and switching between different pages and game states.
+ * When active rendering is enabled it is driven as a {@link Scene} by the {@link RenderLoop} instead.
  */
-public class GUI extends JPanel implements ActionListener {
+public class GUI extends JPanel implements ActionListener, Scene {
     private int mouseX, mouseY;
     private Timer timer;
     private Page currentPage;
@@ -91,7 +92,7 @@ public class GUI extends JPanel implements ActionListener {
 
         // Initialize and start the timer
         timer = new Timer(16, this); // Approximately 60 FPS (1000ms/60)
-        timer.start();
+        timerStart();
 
         // Ensure the panel can receive focus
         setFocusable(true);
@@ -108,10 +109,13 @@ public class GUI extends JPanel implements ActionListener {
     }
 
     /**
-     * Starts the timer, which controls the periodic updates of the GUI.
+     * Starts the timer, which controls the periodic updates of the GUI,
+     * unless the {@link RenderLoop} drives the GUI instead.
      */
     public void timerStart() {
-        timer.start();
+        if (!RenderLoop.isEnabled()) {
+            timer.start();
+        }
     }
 
     /**
@@ -148,11 +152,18 @@ public class GUI extends JPanel implements ActionListener {
      */
     @Override
     public void actionPerformed(ActionEvent e) {
-        // Perform periodic updates
+        update();
+        repaint();
+    }
+
+    /**
+     * Updates the hover state of the current page's buttons.
+     */
+    @Override
+    public void update() {
         for (Button button : currentPage.getButtons()) {
             button.listener(mouseX, mouseY, false);
         }
-        repaint();
     }
 
     /**
@@ -163,6 +174,9 @@ public class GUI extends JPanel implements ActionListener {
      */
     @Override
     protected void paintComponent(Graphics g) {
+        if (RenderLoop.isActive()) {
+            return;
+        }
         super.paintComponent(g);
 
         
@@ -175,11 +189,20 @@ public class GUI extends JPanel implements ActionListener {
         // Apply the scaling transformation to the Graphics2D object
         g2d.scale(scaleX, scaleY);
 
+        render(g2d, 1f);
+    }
 
+    /**
+     * Draws the current page in the 1920x1080 design resolution. Pages have no moving sprites,
+     * so the interpolation factor is ignored.
+     * 
+     * @param g2d The Graphics2D object used for drawing.
+     * @param alpha The interpolation factor between ticks.
+     */
+    @Override
+    public void render(Graphics2D g2d, float alpha) {
         g2d.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER, 1.0f));
-
         draw(g2d);
-
     }
     public void draw(Graphics2D g2d){
         // Draw the background image if it exists
@@ -35,6 +35,7 @@ public class GameData {
     private List<Light> lights;  // List of lights
     private FireLight fireLight;
     private WindowLight windowLight;
+    private transient SpatialGrid<Sprite> grid;
 
     /**
      * Constructs a GameData instance and initializes it by loading data from the specified JSON file.
@@ -91,6 +92,13 @@ public class GameData {
                 this.lights.add(getFireLight());
             }
 
+            // Index the level's static objects, in the order collisions have always been checked
+            this.grid = new SpatialGrid<>();
+            grid.insertAll(sprites);
+            grid.insertAll(shelves);
+            grid.insertAll(doors);
+            grid.insertAll(fishingSpots);
+
         } catch (IOException e) {
             e.printStackTrace(); // Handle file I/O error
         }
@@ -106,6 +114,15 @@ public class GameData {
         return sprites;
     }
 
+    /**
+     * Returns the spatial index of the level's sprites, shelves, doors and fishing spots.
+     *
+     * @return The {@link SpatialGrid} of static level objects.
+     */
+    public SpatialGrid<Sprite> getGrid() {
+        return grid;
+    }
+
     /**
      * Returns the list of doors in the game.
      *
@@ -225,17 +242,11 @@ public class GameData {
 
     /**
      * Returns the list of lights in the game. This list includes both window and fire lights if they exist.
+     * It is built once when the level loads, so it can be fetched every tick without allocating.
      *
      * @return A list of {@link Light} objects.
      */
     public List<Light> getLights() {
-        lights = new ArrayList<>();
-        if (getWindowLight() != null) {
-            this.lights.add(getWindowLight());
-        }
-        if (getFireLight() != null) {
-            this.lights.add(getFireLight());
-        }
-        return lights; 
+        return lights;
     }
 }
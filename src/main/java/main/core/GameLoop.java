@@ -4,6 +4,9 @@ import java.awt.Color;
 import java.awt.Dimension;
 import java.awt.Graphics;
 import java.awt.Graphics2D;
+import java.awt.Image;
+import java.awt.Point;
+import java.awt.Rectangle;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 import java.awt.event.KeyAdapter;
@@ -12,19 +15,21 @@ import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
 import java.awt.event.MouseMotionAdapter;
 
-import java.util.List;
 import java.util.ArrayList;
+import java.util.List;
 
 import javax.swing.JPanel;
 import javax.swing.Timer;
 
 import main.Main;
-import main.GUI.Text;
+import main.GameObjects.AnimatedSprite;
 import main.GameObjects.Background;
 import main.GameObjects.ChargeMeter;
 import main.GameObjects.Door;
 import main.GameObjects.Fish;
+import main.GameObjects.FishingLine;
 import main.GameObjects.FishingSpot;
+import main.GameObjects.Light;
 import main.GameObjects.Player;
 import main.GameObjects.Shelf;
 import main.GameObjects.Sprite;
@@ -32,15 +37,17 @@ import main.GameObjects.Water;
 
 /**
  * Manages the main game loop, including rendering, user input, game logic, and updates.
- * It extends JPanel to provide a custom drawing surface and implements ActionListener for timer-based updates.
+ * It extends JPanel to provide a custom drawing surface and implements ActionListener for timer-based updates,
+ * or is driven as a {@link Scene} by the {@link RenderLoop} when active rendering is enabled.
  */
-public class GameLoop extends JPanel implements ActionListener {
+public class GameLoop extends JPanel implements ActionListener, Scene {
     // Constants
     private final int MAXSPEED = 9;
     private final float TIMESPEED = 0.0001f;
 
     // Core components
     private Timer timer;
+    private FixedTimestep timestep;
     private Logic logic;
     private Camera camera;
     private Player player;
@@ -48,6 +55,13 @@ public class GameLoop extends JPanel implements ActionListener {
     private Background background;
     private Renderer renderer;
     private FishingLogic fishingLogic;
+    private DirtyRegions dirtyRegions;
+    private ResolutionScaler resolutionScaler;
+    // Time spent painting since the last tick, recorded as one frame
+    private long paintNanos;
+    // Reused by every collision check, so a tick allocates nothing to find what is near the player
+    private final Rectangle nearby = new Rectangle();
+    private final List<Sprite> nearbySprites = new ArrayList<>();
 
     // Event listener
     private int mouseX, mouseY;
@@ -62,7 +76,7 @@ public class GameLoop extends JPanel implements ActionListener {
     private List<Fish> possibleFishes;
     private String currentHabitat;
     private FishingState fishingState;
-    private List<Text> texts;
+    private TransientTexts texts;
     private float timeOfDay;
 
     // Debugging
@@ -83,9 +97,11 @@ public class GameLoop extends JPanel implements ActionListener {
         player = new Player(1920 / 2 - 75, 1080 / 2 - 75, gameData.getPlayerWidth(), gameData.getPlayerWidth(), gameData.getPlayer(), MAXSPEED);
         logic = new Logic();
         camera = new Camera(gameData, player);
-        texts = new ArrayList<>();
+        texts = new TransientTexts();
         fishingLogic = new FishingLogic();
         renderer = new Renderer();
+        dirtyRegions = new DirtyRegions();
+        resolutionScaler = new ResolutionScaler();
 
         // Event listening
         mouseX = 0;
@@ -110,16 +126,21 @@ public class GameLoop extends JPanel implements ActionListener {
         // Add event listeners
         setEventListeners();
 
+        timestep = new FixedTimestep();
         timer = new Timer(16, this); // Timer for 60 FPS
         timerStart();
         setFocusable(true);
     }
 
     /**
-     * Starts the game timer.
+     * Starts the game timer, unless the {@link RenderLoop} drives the game instead.
      */
     public void timerStart() {
-        timer.start();
+        if (!RenderLoop.isEnabled()) {
+            timestep.reset();
+            dirtyRegions.markAll();
+            timer.start();
+        }
     }
 
     /**
@@ -131,11 +152,15 @@ public class GameLoop extends JPanel implements ActionListener {
 
     /**
      * Paints the game components onto the screen.
+     * Skipped while the {@link RenderLoop} draws the frame itself.
      * 
      * @param g The Graphics object used for drawing.
      */
     @Override
     public void paintComponent(Graphics g) {
+        if (RenderLoop.isActive()) {
+            return;
+        }
         super.paintComponent(g);
         Graphics2D g2d = (Graphics2D) g;
 
@@ -143,27 +168,173 @@ public class GameLoop extends JPanel implements ActionListener {
         double scaleY = getHeight() / 1080.0;
         g2d.scale(scaleX, scaleY);
 
-        // Call the draw method from Renderer
-        renderer.draw(g2d, fishingLogic.getFishingLine(), player, texts, fishingLogic.getFish(), timeOfDay, chargeMeter, gameData,background);
+        // A frame can be painted as several separate areas, which are recorded together on the next tick
+        paintNanos += draw(g2d, timestep.getAlpha());
+    }
+
+    /**
+     * Draws the game in the 1920x1080 design resolution, with moving sprites interpolated
+     * between their last two ticks.
+     * 
+     * @param g2d The Graphics2D object used for drawing.
+     * @param alpha How far the frame is between the previous tick and the latest one.
+     */
+    @Override
+    public void render(Graphics2D g2d, float alpha) {
+        recordFrame(draw(g2d, alpha));
+    }
+
+    /**
+     * Draws the game like {@link #render}, without counting it as a frame, for screenshots and other
+     * offscreen captures. A capture is an unusually slow full draw, so its time says nothing about how
+     * fast the game paints.
+     *
+     * @param g2d The Graphics2D object used for drawing.
+     * @param alpha How far the frame is between the previous tick and the latest one.
+     */
+    public void renderSnapshot(Graphics2D g2d, float alpha) {
+        draw(g2d, alpha);
+    }
+
+    /**
+     * Draws the game, or the part of it inside the clip, in the 1920x1080 design resolution.
+     *
+     * @param g2d The Graphics2D object used for drawing.
+     * @param alpha How far the frame is between the previous tick and the latest one.
+     * @return How long the world took to draw, in nanoseconds.
+     */
+    private long draw(Graphics2D g2d, float alpha) {
+        // The world may be drawn at a lower resolution and stretched; the tint, texts and debug overlay are always drawn at full resolution
+        long start = System.nanoTime();
+        renderer.draw(g2d, fishingLogic.getFishingLine(), player, texts, fishingLogic.getFish(), timeOfDay, chargeMeter, gameData, background, camera, alpha, resolutionScaler);
+        long worldNanos = System.nanoTime() - start;
 
         if (debug) {
-            renderer.drawDebug(g2d, gameData);
+            camera.apply(g2d, alpha);
+            renderer.drawDebug(g2d, gameData, camera.getViewport());
+            camera.unapply(g2d, alpha);
+            renderer.drawCacheStats(g2d, texts, resolutionScaler, dirtyRegions);
         }
+        return worldNanos;
+    }
+
+    /**
+     * Passes how long a frame took to draw to the quality governor and the resolution scaler.
+     *
+     * @param frameNanos How long the frame's world took to draw.
+     */
+    private void recordFrame(long frameNanos) {
+        QualityGovernor.record(frameNanos);
+        resolutionScaler.record(frameNanos);
     }
 
     /**
-     * Handles timer-based updates for the game, including player movement, camera adjustments,
-     * fishing mechanics, collision detection, and screen repainting.
+     * Handles timer-based updates for the game and repaints the screen.
+     * Runs however many fixed ticks have elapsed, so a late timer event does not slow the game down.
      * 
      * @param e The ActionEvent triggered by the Timer.
      */
     @Override
     public void actionPerformed(ActionEvent e) {
-        // Update all text elements
-        for (Text text : texts) {
-            text.update();
+        if (paintNanos > 0) {
+            recordFrame(paintNanos);
+            paintNanos = 0;
+        }
+        int ticks = timestep.advance();
+        for (int i = 0; i < ticks; i++) {
+            update();
+        }
+
+        // Redraw the parts of the screen that changed
+        markDirtyRegions();
+        dirtyRegions.flush(this);
+    }
+
+    /**
+     * Marks what has changed on screen since the last repaint. Sprites, the fishing line, the charge meter
+     * and lights mark their own areas; a new background frame, a step in the day tint, camera movement,
+     * new texts, a change of render scale or quality tier, or opening or closing the debug overlay redraw
+     * everything. While the overlay is open its statistics are redrawn every frame.
+     */
+    private void markDirtyRegions() {
+        dirtyRegions.watch("background", background.getCurrentImage());
+        // Watched by value, so steps that keep the same color do not redraw the screen
+        dirtyRegions.watch("tint", renderer.getTint(timeOfDay).getRGB());
+        dirtyRegions.watch("camera", new Point(camera.getOffsetX(), camera.getOffsetY()));
+        dirtyRegions.watch("texts", texts.getChanges());
+        dirtyRegions.watch("renderScale", resolutionScaler.getScale());
+        dirtyRegions.watch("quality", QualityGovernor.getTier());
+        dirtyRegions.watch("debug", debug);
+        if (debug) {
+            dirtyRegions.mark(renderer.getCacheStatsBounds());
+        }
+        if (camera.getDx() != 0 || camera.getDy() != 0) {
+            dirtyRegions.markAll();
+        }
+
+        trackSprite("player", player);
+        trackSprite("fish", fishingLogic.getFish());
+        FishingLine fishingLine = fishingLogic.getFishingLine();
+        dirtyRegions.track("fishingLine", (fishingLine != null) ? toScreen(fishingLine.getDrawBounds()) : null, null);
+        dirtyRegions.track("chargeMeter", (chargeMeter != null) ? toScreen(chargeMeter.getDrawBounds()) : null, null);
+        List<Light> lights = gameData.getLights();
+        if (lights != null) {
+            // Cached lights only change when the lighting step does; the lightmap blurs lights past their bounds
+            Integer step = StaticLayer.getLightingStep(timeOfDay);
+            int bleed = Lightmap.getBleed();
+            for (int i = 0; i < lights.size(); i++) {
+                Light light = lights.get(i);
+                boolean cached = (StaticLayer.isEnabled() || Lightmap.isEnabled()) && !light.isAnimated();
+                Rectangle bounds = light.getBounds();
+                if (!bounds.isEmpty()) {
+                    bounds.grow(bleed, bleed);
+                }
+                dirtyRegions.track("light" + i, toScreen(bounds), cached ? step : null);
+            }
+        }
+    }
+
+    /**
+     * Marks an animated sprite's area when it moves or shows a different frame.
+     *
+     * @param key Identifies the sprite between frames.
+     * @param sprite The sprite, or null if there is none.
+     */
+    private void trackSprite(String key, AnimatedSprite sprite) {
+        Image image = (sprite != null) ? sprite.getCurrentImage() : null;
+        dirtyRegions.track(key, (image != null) ? toScreen(sprite.getSweptBounds()) : null, image);
+    }
+
+    /**
+     * Converts world bounds into screen bounds using the camera's current offset.
+     *
+     * @param bounds The bounds in world coordinates.
+     * @return The bounds on screen, or null if they are empty.
+     */
+    private Rectangle toScreen(Rectangle bounds) {
+        if (bounds == null || bounds.isEmpty()) {
+            return null;
+        }
+        Rectangle screen = new Rectangle(bounds);
+        screen.translate(camera.getOffsetX(), camera.getOffsetY());
+        return screen;
+    }
+
+    /**
+     * Advances the game by one tick, including player movement, camera adjustments,
+     * fishing mechanics and collision detection.
+     */
+    @Override
+    public void update() {
+        // Remember where moving sprites were for interpolated drawing
+        player.savePosition();
+        if (fishingLogic.getFish() != null) {
+            fishingLogic.getFish().savePosition();
         }
 
+        // Update all text elements
+        texts.update();
+
         // Increment the time of day
         timeOfDay += TIMESPEED;
         if (timeOfDay > 1) {
@@ -171,7 +342,7 @@ public class GameLoop extends JPanel implements ActionListener {
         }
 
         // Update fishing logic
-        fishingState = fishingLogic.update(isMouseHeld, isLeftHeld, isRightHeld, chargeMeter, player, chargePower, gameData, possibleFishes, texts, fishingState,water);
+        fishingState = fishingLogic.update(isMouseHeld, isLeftHeld, isRightHeld, chargeMeter, player, chargePower, gameData, possibleFishes, texts, camera, fishingState,water);
 
         // Check for level change and fishing state
         checkLevelChange();
@@ -182,8 +353,20 @@ public class GameLoop extends JPanel implements ActionListener {
         adjustCamera();
         checkCollisions();
 
-        // Redraw the screen
-        repaint();
+        // Advance animations by one tick of game time
+        background.updateAnimation(FixedTimestep.TICK_NANOS);
+        player.updateAnimation(FixedTimestep.TICK_NANOS);
+        if (fishingLogic.getFish() != null) {
+            fishingLogic.getFish().updateAnimation(FixedTimestep.TICK_NANOS);
+        }
+
+        // Move the lights on to the new time of day, after any level change so new lights start in step
+        List<Light> lights = gameData.getLights();
+        if (lights != null) {
+            for (Light light : lights) {
+                light.update(timeOfDay);
+            }
+        }
     }
 
     /**
@@ -201,9 +384,9 @@ public class GameLoop extends JPanel implements ActionListener {
             public void mouseMoved(MouseEvent e) {
                 double scaleX = 1920.0 / getWidth();
                 double scaleY = 1080.0 / getHeight();
-                // Convert the current mouse position to the original coordinate system
-                mouseX = (int) (e.getX() * scaleX);
-                mouseY = (int) (e.getY() * scaleY);
+                // Convert the current mouse position to the original coordinate system, then into the world
+                mouseX = camera.toWorldX((int) (e.getX() * scaleX));
+                mouseY = camera.toWorldY((int) (e.getY() * scaleY));
             }
         });
 
@@ -322,16 +505,18 @@ public class GameLoop extends JPanel implements ActionListener {
     private void checkCollisions() {
         // Check collisions with other sprites
         if (!god) {
-            logic.collisionDetection(player, gameData.getSprites());
-
-            if (gameData.getShelves() != null) {
-                for (Shelf shelf : gameData.getShelves()) {
-                    logic.collisionDetection(player, shelf, 1);
+            // Only objects near the player can collide; the margin covers being pushed out of one into another
+            int margin = Math.max(player.getW(), player.getH());
+            nearby.setBounds(player.getX() - margin, player.getY() - margin,
+                    player.getW() + 2 * margin, player.getH() + 2 * margin);
+            try {
+                gameData.getGrid().query(nearby, nearbySprites);
+                for (int i = 0; i < nearbySprites.size(); i++) {
+                    Sprite sprite = nearbySprites.get(i);
+                    logic.collisionDetection(player, sprite, (sprite instanceof Shelf) ? 1 : 0);
                 }
-            }
-            logic.collisionDetection(player, gameData.getDoors());
-            if (gameData.getFishingSpots() != null) {
-                logic.collisionDetection(player, gameData.getFishingSpots());
+            } finally {
+                nearbySprites.clear();
             }
         }
 
@@ -352,29 +537,11 @@ public class GameLoop extends JPanel implements ActionListener {
 
     /**
      * Adjusts the camera based on player movement and screen boundaries.
+     * World objects keep their world coordinates; the camera's offset is applied when drawing.
      */
     public void adjustCamera() {
         // Adjust the camera movement if the player reaches near the screen boundary
         camera.cameraMove();
-
-        // Apply camera movement to all sprites (parallax effect)
-        if (camera.getDx() != 0 || camera.getDy() != 0) {
-            background.move(camera.getDx(), camera.getDy());
-            for (Sprite sprite : gameData.getSprites()) {
-                sprite.move(camera.getDx(), camera.getDy());
-            }
-            for (Door door : gameData.getDoors()) {
-                door.move(camera.getDx(), camera.getDy());
-            }
-            if (gameData.getFishingSpots() != null) {
-                for (FishingSpot fishingSpot : gameData.getFishingSpots()) {
-                    fishingSpot.move(camera.getDx(), camera.getDy());
-                }
-            }
-            if (gameData.getWater() != null) {
-                gameData.getWater().move(camera.getDx(), camera.getDy());
-            }
-        }
     }
 
     /**
@@ -405,10 +572,13 @@ public class GameLoop extends JPanel implements ActionListener {
                 background = new Background(background.getX(), background.getY(), background.getW(), background.getH(), gameData.getBackground());
                 player.setX(door.getToX());
                 player.setY(door.getToY());
+                player.savePosition();
                 player.setW(gameData.getPlayerWidth());
                 player.setH(gameData.getPlayerWidth());
                 water = gameData.getWater();
                 camera.setPlayer(player);
+                camera.reset();
+                dirtyRegions.markAll();
                 currentHabitat = gameData.getHabitat();
                 if (currentHabitat != null) {
                     possibleFishes = Database.getAllFishByHabitat(currentHabitat);
@@ -0,0 +1,295 @@
+package main.core;
+
+import java.awt.AlphaComposite;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.RenderingHints;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.List;
+
+import main.GameObjects.Light;
+
+/**
+ * Renders the level's lights and the time-of-day tint into one translucent image at a fraction of the screen's
+ * resolution, then blends it over the scene in a single full-screen draw. Light gradients and the
+ * full-screen tint are soft, so rendering them at full resolution costs far more than it shows.
+ * The lights are drawn first and the tint over them, the same order they were blended in at full resolution.
+ * The lightmap is only re-rendered when the tint color, the lighting step, the quality tier, the level's lights or the camera change,
+ * or while a light that animates on its own is showing. After a re-render it is upscaled with bilinear filtering
+ * into a full-size image, only over the area that changed; Java2D's own filtered scaling is several times slower
+ * than a plain blit in the software pipeline, so it is not done on every frame. The lightmap's pixels are lined up
+ * with the world rather than the screen, so the upscaled image looks the same wherever the camera is; when the
+ * camera scrolls, the full-size image is shifted with it and only the strips scrolled into view are upscaled.
+ * The resolution is {@code -Dreel.lightmapScale} of the screen (0.25 by default); disabled with {@code -Dreel.lightmap=false}.
+ */
+public class Lightmap {
+    private static final boolean ENABLED = Boolean.parseBoolean(System.getProperty("reel.lightmap", "true"));
+    private static final double SCALE = Math.min(1.0, Math.max(0.05, Double.parseDouble(System.getProperty("reel.lightmapScale", "0.25"))));
+    private static final int SCREEN_WIDTH = 1920;
+    private static final int SCREEN_HEIGHT = 1080;
+    private static final Color CLEAR = new Color(0, 0, 0, 0);
+    // Screen pixels per lightmap pixel, and the lightmap pixels kept past each edge of the screen for filtering
+    private static final double CELL = 1 / SCALE;
+    private static final int MARGIN = 2;
+
+    private final BufferedImage lightmap;
+    private final BufferedImage composite;
+    private final int[] source;
+    private final int[] sourceRow;
+    private final int[] line;
+    private final int[] columnX;
+    private final int[] columnWeight;
+    private double originX, originY;
+    private Rectangle animatedArea;
+    private Color cachedTint;
+    private int cachedStep = -1;
+    private QualityGovernor.Tier cachedTier;
+    private List<Light> cachedLights = new ArrayList<>();
+    private int cachedOffsetX, cachedOffsetY;
+    private boolean rendered = false;
+    private int renders = 0;
+
+    /**
+     * Constructs an empty Lightmap at the configured fraction of the 1920x1080 screen.
+     */
+    public Lightmap() {
+        int w = (int) Math.ceil(SCREEN_WIDTH * SCALE) + 2 * MARGIN;
+        int h = (int) Math.ceil(SCREEN_HEIGHT * SCALE) + 2 * MARGIN;
+        lightmap = new BufferedImage(w, h, BufferedImage.TYPE_INT_ARGB_PRE);
+        composite = new BufferedImage(SCREEN_WIDTH, SCREEN_HEIGHT, BufferedImage.TYPE_INT_ARGB_PRE);
+        source = new int[w * h];
+        sourceRow = new int[w];
+        line = new int[SCREEN_WIDTH];
+        columnX = new int[SCREEN_WIDTH];
+        columnWeight = new int[SCREEN_WIDTH];
+    }
+
+    /**
+     * Gets whether lights and tint are drawn through a lightmap.
+     *
+     * @return True unless disabled with {@code -Dreel.lightmap=false}.
+     */
+    public static boolean isEnabled() {
+        return ENABLED;
+    }
+
+    /**
+     * Gets how far past a light's bounds the upscaled lightmap can change the screen,
+     * since bilinear filtering spreads each lightmap pixel over its neighbours.
+     *
+     * @return The margin in screen pixels, or 0 when the lightmap is disabled.
+     */
+    public static int getBleed() {
+        return ENABLED ? (int) Math.ceil(2 / SCALE) : 0;
+    }
+
+    /**
+     * Blends the lights and tint over everything drawn so far, re-rendering the lightmap first if it is out of date.
+     *
+     * @param g The Graphics2D object used for drawing, in screen coordinates.
+     * @param lights The level's lights, or null if it has none.
+     * @param tint The time-of-day tint color.
+     * @param timeOfDay The current time of day.
+     * @param camera The camera the lights are seen through.
+     * @param alpha How far the frame is between the previous tick and the latest one, for the camera.
+     */
+    public void draw(Graphics2D g, List<Light> lights, Color tint, float timeOfDay, Camera camera, float alpha) {
+        List<Light> current = (lights != null) ? lights : new ArrayList<>();
+        int step = StaticLayer.getLightingStep(timeOfDay);
+        // The same interpolated offset the world is drawn with, so the lights stay on it while the camera moves
+        int offsetX = camera.getOffsetX(alpha);
+        int offsetY = camera.getOffsetY(alpha);
+
+        // Where animated lights are showing now, on screen and widened by the upscale's reach
+        Rectangle animated = null;
+        int bleed = getBleed();
+        for (Light light : current) {
+            Rectangle bounds = light.getBounds();
+            if (light.isAnimated() && !bounds.isEmpty()) {
+                bounds.translate(offsetX, offsetY);
+                bounds.grow(bleed, bleed);
+                animated = (animated == null) ? bounds : animated.union(bounds);
+            }
+        }
+
+        // The tier decides how some lights draw, so a change of tier redraws them
+        QualityGovernor.Tier tier = QualityGovernor.getTier();
+        boolean changed = !rendered || step != cachedStep || tier != cachedTier || !tint.equals(cachedTint) || !current.equals(cachedLights);
+        int shiftX = offsetX - cachedOffsetX;
+        int shiftY = offsetY - cachedOffsetY;
+        boolean scrolled = shiftX != 0 || shiftY != 0;
+        if (changed || scrolled || animated != null || animatedArea != null) {
+            align(offsetX, offsetY);
+            render(current, tint, offsetX, offsetY);
+            lightmap.getRaster().getDataElements(0, 0, lightmap.getWidth(), lightmap.getHeight(), source);
+            Rectangle screen = new Rectangle(0, 0, SCREEN_WIDTH, SCREEN_HEIGHT);
+            if (changed || Math.abs(shiftX) >= SCREEN_WIDTH || Math.abs(shiftY) >= SCREEN_HEIGHT) {
+                upscale(screen);
+            } else {
+                if (scrolled) {
+                    // What was already on screen moves with the camera; only the strips scrolled into view are new
+                    scroll(shiftX, shiftY);
+                    upscale(screen.intersection(new Rectangle((shiftX > 0) ? 0 : SCREEN_WIDTH + shiftX, 0, Math.abs(shiftX), SCREEN_HEIGHT)));
+                    upscale(screen.intersection(new Rectangle(0, (shiftY > 0) ? 0 : SCREEN_HEIGHT + shiftY, SCREEN_WIDTH, Math.abs(shiftY))));
+                }
+                // Animated lights moved on; refresh where they are and where they were, which has scrolled with the rest
+                if (animatedArea != null) {
+                    Rectangle previous = new Rectangle(animatedArea);
+                    previous.translate(shiftX, shiftY);
+                    upscale(screen.intersection(previous));
+                }
+                if (animated != null) {
+                    upscale(screen.intersection(animated));
+                }
+            }
+            animatedArea = animated;
+            cachedTint = tint;
+            cachedStep = step;
+            cachedTier = tier;
+            cachedLights = current;
+            cachedOffsetX = offsetX;
+            cachedOffsetY = offsetY;
+            rendered = true;
+        }
+        g.drawImage(composite, 0, 0, null);
+    }
+
+    /**
+     * Gets how many times the lightmap has been re-rendered, for the debug overlay.
+     *
+     * @return The number of renders.
+     */
+    public int getRenders() {
+        return renders;
+    }
+
+    /**
+     * Places the lightmap's grid on the world cell that holds the screen's top-left corner, so a world point
+     * always falls at the same place within a lightmap pixel, and works out which lightmap columns each
+     * screen column samples.
+     *
+     * @param offsetX The camera's horizontal offset this frame.
+     * @param offsetY The camera's vertical offset this frame.
+     */
+    private void align(int offsetX, int offsetY) {
+        originX = screenOrigin(offsetX);
+        originY = screenOrigin(offsetY);
+        int w = lightmap.getWidth();
+        // Each screen column samples between two lightmap columns, weighted out of 256
+        for (int x = 0; x < SCREEN_WIDTH; x++) {
+            double sx = Math.max(0, (x + 0.5 - originX) * SCALE - 0.5);
+            columnX[x] = Math.min((int) sx, w - 1);
+            columnWeight[x] = (int) ((sx - columnX[x]) * 256);
+        }
+    }
+
+    /**
+     * Gets where the lightmap's first pixel starts on screen along one axis.
+     *
+     * @param offset The camera's offset along the axis.
+     * @return The screen coordinate, {@value #MARGIN} lightmap pixels or a little more before the screen's edge.
+     */
+    private static double screenOrigin(int offset) {
+        double phase = offset - Math.floor(offset / CELL) * CELL;
+        return phase - (MARGIN + 1) * CELL;
+    }
+
+    /**
+     * Clears the lightmap and draws the lights through the camera, then the tint over the whole screen.
+     *
+     * @param lights The lights to draw.
+     * @param tint The tint color.
+     * @param offsetX The camera's horizontal offset this frame.
+     * @param offsetY The camera's vertical offset this frame.
+     */
+    private void render(List<Light> lights, Color tint, int offsetX, int offsetY) {
+        Graphics2D g = lightmap.createGraphics();
+        try {
+            g.setComposite(AlphaComposite.Src);
+            g.setColor(CLEAR);
+            g.fillRect(0, 0, lightmap.getWidth(), lightmap.getHeight());
+            g.setComposite(AlphaComposite.SrcOver);
+            g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            AffineTransform pixels = g.getTransform();
+            // World coordinates land on whole lightmap pixels, whatever the camera's offset
+            g.scale(SCALE, SCALE);
+            g.translate(offsetX - originX, offsetY - originY);
+            for (Light light : lights) {
+                light.draw(g);
+            }
+            g.setTransform(pixels);
+
+            g.setColor(tint);
+            g.fillRect(0, 0, lightmap.getWidth(), lightmap.getHeight());
+        } finally {
+            g.dispose();
+        }
+        renders++;
+    }
+
+    /**
+     * Moves the full-size composite along with the camera. The pixels scrolled into view are left as they were.
+     *
+     * @param dx How far the camera's offset moved horizontally.
+     * @param dy How far the camera's offset moved vertically.
+     */
+    private void scroll(int dx, int dy) {
+        Graphics2D g = composite.createGraphics();
+        try {
+            g.setComposite(AlphaComposite.Src);
+            g.copyArea(Math.max(0, -dx), Math.max(0, -dy), SCREEN_WIDTH - Math.abs(dx), SCREEN_HEIGHT - Math.abs(dy), dx, dy);
+        } finally {
+            g.dispose();
+        }
+    }
+
+    /**
+     * Bilinearly upscales part of the lightmap into the full-size composite. Works on premultiplied pixels,
+     * two channels at a time, with weights out of 256. The lightmap's pixels must already be read into the source array.
+     *
+     * @param area The screen area to refresh.
+     */
+    private void upscale(Rectangle area) {
+        if (area.isEmpty()) {
+            return;
+        }
+        int w = lightmap.getWidth();
+        int h = lightmap.getHeight();
+        // Only the lightmap columns the area samples need blending, which matters for narrow strips
+        int firstColumn = columnX[area.x];
+        int lastColumn = Math.min(columnX[area.x + area.width - 1] + 1, w - 1);
+        for (int y = area.y; y < area.y + area.height; y++) {
+            // Blend the two lightmap rows this screen row falls between
+            double sy = Math.max(0, (y + 0.5 - originY) * SCALE - 0.5);
+            int y0 = Math.min((int) sy, h - 1);
+            int y1 = Math.min(y0 + 1, h - 1);
+            int fy = (int) ((sy - y0) * 256);
+            for (int x = firstColumn; x <= lastColumn; x++) {
+                sourceRow[x] = lerp(source[y0 * w + x], source[y1 * w + x], fy);
+            }
+            // Then blend across the columns
+            for (int x = area.x; x < area.x + area.width; x++) {
+                int x0 = columnX[x];
+                line[x - area.x] = lerp(sourceRow[x0], sourceRow[Math.min(x0 + 1, w - 1)], columnWeight[x]);
+            }
+            composite.getRaster().setDataElements(area.x, y, area.width, 1, line);
+        }
+    }
+
+    /**
+     * Interpolates between two packed premultiplied ARGB pixels.
+     *
+     * @param p The first pixel.
+     * @param q The second pixel.
+     * @param weight How far towards the second pixel, out of 256.
+     * @return The blended pixel.
+     */
+    private static int lerp(int p, int q, int weight) {
+        int alphaGreen = ((p >>> 8) & 0xFF00FF) * (256 - weight) + ((q >>> 8) & 0xFF00FF) * weight;
+        int redBlue = (p & 0xFF00FF) * (256 - weight) + (q & 0xFF00FF) * weight;
+        return (alphaGreen & 0xFF00FF00) | ((redBlue >>> 8) & 0xFF00FF);
+    }
+}
@@ -0,0 +1,141 @@
+package main.core;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBuffer;
+import java.awt.image.IndexColorModel;
+import java.awt.image.WritableRaster;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Stores pixel-art images with an {@link IndexColorModel} when they use at most 256 colours,
+ * which holds them in 1, 2, 4 or 8 bits per pixel instead of 32.
+ * The conversion is lossless: an image with more colours is left as ARGB. Fully transparent
+ * pixels all map to one palette entry, since their colour is never visible.
+ * Enabled with {@code -Dreel.paletteFrames=true}; the memory saved per animation set is printed
+ * when the game exits. Indexed frames are drawn through the {@link ScaledImageCache}, whose
+ * scaled copies are display-compatible, so only the unscaled sources are stored indexed.
+ */
+public class PaletteImages {
+    private static final boolean ENABLED = Boolean.getBoolean("reel.paletteFrames");
+    private static final int MAX_COLOURS = 256;
+
+    private static final ConcurrentMap<String, SetStats> stats = new ConcurrentHashMap<>();
+
+    static {
+        if (ENABLED) {
+            Runtime.getRuntime().addShutdownHook(new Thread(PaletteImages::printReport, "palette-report"));
+        }
+    }
+
+    private PaletteImages() {
+    }
+
+    /**
+     * Gets whether images are stored palette-indexed when possible.
+     *
+     * @return True if palette mode is enabled.
+     */
+    public static boolean isEnabled() {
+        return ENABLED;
+    }
+
+    /**
+     * Converts an image to a palette-indexed image if it has few enough colours.
+     *
+     * @param key The normalized resource path of the image, used to attribute the saving to its animation set.
+     * @param image The decoded image.
+     * @return The indexed image, or null if the image has more than 256 colours.
+     */
+    public static BufferedImage toIndexed(String key, BufferedImage image) {
+        int w = image.getWidth();
+        int h = image.getHeight();
+        int[] pixels = image.getRGB(0, 0, w, h, null, 0, w);
+        SetStats set = stats.computeIfAbsent(setOf(key), k -> new SetStats());
+
+        Map<Integer, Integer> palette = new HashMap<>();
+        for (int i = 0; i < pixels.length; i++) {
+            if ((pixels[i] >>> 24) == 0) {
+                pixels[i] = 0;
+            }
+            if (!palette.containsKey(pixels[i])) {
+                if (palette.size() == MAX_COLOURS) {
+                    set.fallbacks.incrementAndGet();
+                    return null;
+                }
+                palette.put(pixels[i], palette.size());
+            }
+        }
+
+        int[] colours = new int[palette.size()];
+        for (Map.Entry<Integer, Integer> entry : palette.entrySet()) {
+            colours[entry.getValue()] = entry.getKey();
+        }
+        int bits = colours.length <= 2 ? 1 : colours.length <= 4 ? 2 : colours.length <= 16 ? 4 : 8;
+        IndexColorModel model = new IndexColorModel(bits, colours.length, colours, 0, true, -1, DataBuffer.TYPE_BYTE);
+        BufferedImage indexed = new BufferedImage(w, h,
+                bits == 8 ? BufferedImage.TYPE_BYTE_INDEXED : BufferedImage.TYPE_BYTE_BINARY, model);
+        WritableRaster raster = indexed.getRaster();
+        for (int y = 0; y < h; y++) {
+            for (int x = 0; x < w; x++) {
+                raster.setSample(x, y, 0, palette.get(pixels[y * w + x]));
+            }
+        }
+
+        set.indexed.incrementAndGet();
+        set.bytesSaved.addAndGet((long) w * h * 4 - AssetCache.estimateBytes(indexed));
+        return indexed;
+    }
+
+    /**
+     * Gets the bytes saved by indexing, per animation set.
+     *
+     * @return The saving in bytes keyed by set name, in name order.
+     */
+    public static Map<String, Long> getBytesSaved() {
+        Map<String, Long> saved = new TreeMap<>();
+        for (Map.Entry<String, SetStats> entry : stats.entrySet()) {
+            saved.put(entry.getKey(), entry.getValue().bytesSaved.get());
+        }
+        return saved;
+    }
+
+    /**
+     * Prints how many images of each animation set were indexed and how much memory that saved.
+     */
+    public static void printReport() {
+        for (Map.Entry<String, SetStats> entry : new TreeMap<>(stats).entrySet()) {
+            SetStats set = entry.getValue();
+            System.out.println("Palette frames " + entry.getKey() + ": " + set.indexed.get() + " indexed, "
+                    + set.fallbacks.get() + " kept as ARGB, " + (set.bytesSaved.get() / 1024) + " KB saved");
+        }
+    }
+
+    /**
+     * Works out which animation set an image belongs to: {@code assets/<set>/...} frames and
+     * {@code atlas/<set>/<state>-<page>.png} pages by their set, anything else by its top folder.
+     *
+     * @param key The normalized resource path.
+     * @return The set name.
+     */
+    private static String setOf(String key) {
+        String[] parts = key.split("/");
+        if (parts.length > 2 && (parts[0].equals("assets") || parts[0].equals("atlas"))) {
+            return parts[1];
+        }
+        return parts[0];
+    }
+
+    /**
+     * Running totals for one animation set.
+     */
+    private static class SetStats {
+        private final AtomicLong indexed = new AtomicLong();
+        private final AtomicLong fallbacks = new AtomicLong();
+        private final AtomicLong bytesSaved = new AtomicLong();
+    }
+}
@@ -0,0 +1,165 @@
+package main.core;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Picks how much of the game's lighting to draw from how long frames are taking. The average draw time over a
+ * window of {@value #WINDOW} frames is compared with the frame budget of {@code -Dreel.targetFps} (60 by default):
+ * a window over budget drops a {@link Tier}, and windows with plenty of room restore one. Each time a restored
+ * tier has to be dropped again soon after, the governor waits twice as long before trying it again, so it settles
+ * instead of switching back and forth. The {@link ResolutionScaler} reacts over a shorter time, so when both are on
+ * the resolution gives way first.
+ * Enabled with {@code -Dreel.qualityGovernor=true}; a tier can be fixed with {@code -Dreel.quality=high|medium|low}.
+ */
+public class QualityGovernor {
+    /**
+     * How much of the lighting is drawn.
+     */
+    public enum Tier {
+        /** Everything at full quality. */
+        HIGH,
+        /** The fire glows steadily instead of flickering, window light is a flat color and the player's shadow is a plain oval. */
+        MEDIUM,
+        /** No fire or window light, no player shadow, and the day tint only once it is dark enough to matter. */
+        LOW
+    }
+
+    private static final boolean ENABLED = Boolean.getBoolean("reel.qualityGovernor");
+    private static final Tier FIXED = parseTier(System.getProperty("reel.quality"));
+    private static final long BUDGET_NANOS = TimeUnit.SECONDS.toNanos(1) / Math.max(1, Integer.getInteger("reel.targetFps", 60));
+    private static final int WINDOW = 60;
+    // Restoring a tier costs more than the last one saved, so only restore with a good margin
+    private static final double HEADROOM = 0.6;
+    private static final int MIN_RESTORE_WINDOWS = 2;
+    private static final int MAX_RESTORE_WINDOWS = 32;
+    private static final int HISTORY_SIZE = 5;
+    private static final long START = System.nanoTime();
+
+    private static final Deque<String> history = new ArrayDeque<>();
+    private static volatile Tier tier = (FIXED != null) ? FIXED : Tier.HIGH;
+    private static long windowNanos = 0;
+    private static int count = 0;
+    private static int quietWindows = 0;
+    private static int restoreWindows = MIN_RESTORE_WINDOWS;
+    private static int windowsSinceRestore = Integer.MAX_VALUE;
+
+    private QualityGovernor() {
+    }
+
+    /**
+     * Gets whether the governor adjusts the tier.
+     *
+     * @return True if enabled with {@code -Dreel.qualityGovernor=true} and no tier is fixed with {@code -Dreel.quality}.
+     */
+    public static boolean isEnabled() {
+        return ENABLED && FIXED == null;
+    }
+
+    /**
+     * Gets the current tier.
+     *
+     * @return The tier; {@link Tier#HIGH} unless the governor has dropped it or a tier is fixed.
+     */
+    public static Tier getTier() {
+        return tier;
+    }
+
+    /**
+     * Records how long a frame took to draw, and moves to another tier at the end of a window if needed.
+     *
+     * @param frameNanos How long the frame took to draw.
+     */
+    public static void record(long frameNanos) {
+        if (!isEnabled()) {
+            return;
+        }
+        count++;
+        windowNanos += frameNanos;
+        if (count < WINDOW) {
+            return;
+        }
+        long average = windowNanos / WINDOW;
+        count = 0;
+        windowNanos = 0;
+        if (windowsSinceRestore < Integer.MAX_VALUE) {
+            windowsSinceRestore++;
+        }
+
+        if (average > BUDGET_NANOS && tier != Tier.LOW) {
+            // Dropping straight after a restore means the restored tier did not fit; wait longer next time
+            if (windowsSinceRestore <= MIN_RESTORE_WINDOWS) {
+                restoreWindows = Math.min(restoreWindows * 2, MAX_RESTORE_WINDOWS);
+            }
+            switchTo(Tier.values()[tier.ordinal() + 1], average);
+            quietWindows = 0;
+        } else if (average < BUDGET_NANOS * HEADROOM && tier != Tier.HIGH) {
+            quietWindows++;
+            if (quietWindows >= restoreWindows) {
+                switchTo(Tier.values()[tier.ordinal() - 1], average);
+                quietWindows = 0;
+                windowsSinceRestore = 0;
+            }
+        } else {
+            quietWindows = 0;
+            if (windowsSinceRestore > MAX_RESTORE_WINDOWS) {
+                restoreWindows = MIN_RESTORE_WINDOWS;
+            }
+        }
+    }
+
+    /**
+     * Gets the average draw time over the frames recorded so far in the current window, for the debug overlay.
+     *
+     * @return The average in milliseconds, or 0 at the start of a window.
+     */
+    public static double getAverageMillis() {
+        return (count == 0) ? 0 : windowNanos / (double) count / TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    /**
+     * Gets the most recent tier switches, oldest first, for the debug overlay.
+     *
+     * @return One line per switch.
+     */
+    public static List<String> getHistory() {
+        return new ArrayList<>(history);
+    }
+
+    /**
+     * Moves to a tier and notes the switch in the history.
+     *
+     * @param next The new tier.
+     * @param averageNanos The window's average draw time that caused the switch.
+     */
+    private static void switchTo(Tier next, long averageNanos) {
+        history.addLast(String.format(Locale.ROOT, "%.1f s: %s -> %s (%.1f ms)",
+                (System.nanoTime() - START) / 1e9, tier, next, averageNanos / 1e6));
+        while (history.size() > HISTORY_SIZE) {
+            history.removeFirst();
+        }
+        tier = next;
+    }
+
+    /**
+     * Reads a tier name, ignoring case.
+     *
+     * @param name The name, or null.
+     * @return The tier, or null if the name is missing or unknown.
+     */
+    private static Tier parseTier(String name) {
+        if (name != null) {
+            for (Tier candidate : Tier.values()) {
+                if (candidate.name().equalsIgnoreCase(name.trim())) {
+                    return candidate;
+                }
+            }
+            System.err.println("Unknown quality tier: " + name);
+        }
+        return null;
+    }
+}
@@ -0,0 +1,151 @@
+package main.core;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+/**
+ * An on-disk cache of decoded ARGB rasters, so that a warm start copies pixels straight out of a
+ * memory-mapped file instead of inflating every PNG again.
+ * Each entry records the resource path, the length and the CRC32 of the PNG it was decoded from;
+ * an entry is only used when all three match the PNG being loaded, so changed assets are decoded
+ * again and their entry rewritten.
+ * The cache lives in {@code -Dreel.rasterCacheDir} (a folder under {@code java.io.tmpdir} by default)
+ * and is turned off with {@code -Dreel.rasterCache=false}.
+ */
+public class RasterCache {
+    private static final int MAGIC = 0x5245454C; // "REEL"
+    private static final int VERSION = 1;
+    private static final String EXTENSION = ".raster";
+    private static final int HEADER_SIZE = 32;
+
+    private static final boolean ENABLED = Boolean.parseBoolean(System.getProperty("reel.rasterCache", "true"));
+    private static final Path DIRECTORY = Paths.get(System.getProperty("reel.rasterCacheDir",
+            Paths.get(System.getProperty("java.io.tmpdir"), "reel-raster-cache").toString()));
+
+    private RasterCache() {
+    }
+
+    /**
+     * Gets whether decoded rasters are read from and written to the disk cache.
+     *
+     * @return True if the cache is enabled.
+     */
+    public static boolean isEnabled() {
+        return ENABLED;
+    }
+
+    /**
+     * Loads the cached raster of a PNG.
+     *
+     * @param key The normalized resource path of the PNG.
+     * @param png The bytes of the PNG, used to check that the entry is still current.
+     * @return An ARGB image with the decoded pixels, or null if there is no current entry.
+     */
+    public static BufferedImage load(String key, byte[] png) {
+        Path file = fileFor(key);
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.remaining() < HEADER_SIZE || buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+                return null;
+            }
+            long crc = buffer.getLong();
+            int length = buffer.getInt();
+            int w = buffer.getInt();
+            int h = buffer.getInt();
+            byte[] path = new byte[buffer.getInt()];
+            if (path.length > buffer.remaining()) {
+                return null;
+            }
+            buffer.get(path);
+            if (crc != checksum(png) || length != png.length
+                    || !key.equals(new String(path, StandardCharsets.UTF_8))
+                    || (long) w * h * 4 != buffer.remaining()) {
+                return null;
+            }
+            BufferedImage image = new BufferedImage(w, h, BufferedImage.TYPE_INT_ARGB);
+            buffer.asIntBuffer().get(((DataBufferInt) image.getRaster().getDataBuffer()).getData());
+            return image;
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Error reading cached raster for " + key + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Writes the decoded raster of a PNG to the cache, replacing any older entry.
+     * The entry is written to a temporary file first so a partly written entry is never read,
+     * and the temporary file is deleted if the entry cannot be written.
+     *
+     * @param key The normalized resource path of the PNG.
+     * @param png The bytes of the PNG the image was decoded from.
+     * @param image The decoded image.
+     */
+    public static void store(String key, byte[] png, BufferedImage image) {
+        int w = image.getWidth();
+        int h = image.getHeight();
+        byte[] path = key.getBytes(StandardCharsets.UTF_8);
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE + path.length + w * h * 4);
+        buffer.putInt(MAGIC).putInt(VERSION).putLong(checksum(png)).putInt(png.length)
+                .putInt(w).putInt(h).putInt(path.length).put(path);
+        buffer.asIntBuffer().put(image.getRGB(0, 0, w, h, null, 0, w));
+        buffer.rewind();
+        Path temp = null;
+        try {
+            Files.createDirectories(DIRECTORY);
+            temp = Files.createTempFile(DIRECTORY, "raster", ".tmp");
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+            }
+            Files.move(temp, fileFor(key), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            temp = null;
+        } catch (IOException e) {
+            System.err.println("Error caching raster for " + key + ": " + e.getMessage());
+        } finally {
+            if (temp != null) {
+                try {
+                    Files.deleteIfExists(temp);
+                } catch (IOException e) {
+                    System.err.println("Error removing " + temp + ": " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * Gets the cache file of a resource.
+     *
+     * @param key The normalized resource path.
+     * @return The path of its cache entry.
+     */
+    private static Path fileFor(String key) {
+        return DIRECTORY.resolve(key.replace('/', '_') + EXTENSION);
+    }
+
+    /**
+     * Computes the CRC32 of a PNG.
+     *
+     * @param png The bytes of the PNG.
+     * @return The checksum.
+     */
+    private static long checksum(byte[] png) {
+        CRC32 crc = new CRC32();
+        crc.update(png, 0, png.length);
+        return crc.getValue();
+    }
+}
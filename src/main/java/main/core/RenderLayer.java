@@ -0,0 +1,73 @@
+package main.core;
+
+/**
+ * A named slot in the draw order. Layers with a lower order are drawn first; each layer is drawn
+ * either through the camera, in world coordinates, or in screen coordinates.
+ * The game's own layers are defined here, spaced apart so new layers can be created between them
+ * and submitted to a {@link RenderQueue} without changing the {@link Renderer}.
+ */
+public final class RenderLayer {
+    /** The background and the steady lights cached with it. */
+    public static final RenderLayer BACKGROUND = new RenderLayer("background", 0, true);
+    /** The fishing line. */
+    public static final RenderLayer WORLD = new RenderLayer("world", 100, true);
+    /** Lights drawn directly over the world, when they are not part of the lightmap. */
+    public static final RenderLayer LIGHTS = new RenderLayer("lights", 200, true);
+    /** The charge meter and the player. */
+    public static final RenderLayer PLAYER = new RenderLayer("player", 300, true);
+    /** The time-of-day tint, or the lightmap holding it. */
+    public static final RenderLayer TINT = new RenderLayer("tint", 400, false);
+    /** Temporary texts. */
+    public static final RenderLayer TEXT = new RenderLayer("text", 500, false);
+    /** A hooked fish, drawn over the tint and texts. */
+    public static final RenderLayer FISH = new RenderLayer("fish", 600, true);
+
+    private final String name;
+    private final int order;
+    private final boolean world;
+
+    /**
+     * Constructs a RenderLayer.
+     *
+     * @param name The layer's name, for debugging.
+     * @param order Where the layer falls in the draw order; lower is drawn first.
+     * @param world True if the layer is drawn through the camera, false if it is drawn in screen coordinates.
+     */
+    public RenderLayer(String name, int order, boolean world) {
+        this.name = name;
+        this.order = order;
+        this.world = world;
+    }
+
+    /**
+     * Gets the layer's name.
+     *
+     * @return The name.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Gets where the layer falls in the draw order.
+     *
+     * @return The order; lower is drawn first.
+     */
+    public int getOrder() {
+        return order;
+    }
+
+    /**
+     * Gets whether the layer is drawn through the camera.
+     *
+     * @return True for world coordinates, false for screen coordinates.
+     */
+    public boolean isWorld() {
+        return world;
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
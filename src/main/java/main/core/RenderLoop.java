@@ -0,0 +1,184 @@
+package main.core;
+
+import java.awt.Color;
+import java.awt.Container;
+import java.awt.EventQueue;
+import java.awt.Graphics2D;
+import java.awt.Point;
+import java.awt.Toolkit;
+import java.awt.image.BufferStrategy;
+import java.lang.reflect.InvocationTargetException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import javax.swing.JFrame;
+import javax.swing.SwingUtilities;
+
+/**
+ * Drives the current {@link Scene} by active rendering through a {@link BufferStrategy} on the main frame,
+ * instead of a Swing {@link javax.swing.Timer} and coalesced {@code repaint()} calls.
+ * A dedicated thread paces frames against {@link System#nanoTime()}; each frame runs the simulation ticks
+ * a {@link FixedTimestep} says are due and then draws, both on the Event Dispatch Thread so game state is never touched by two threads at once.
+ * Enabled with {@code -Dreel.activeRender=true}; the target rate is {@code -Dreel.targetFps} (60 by default).
+ */
+public class RenderLoop implements Runnable {
+    private static final boolean ENABLED = Boolean.getBoolean("reel.activeRender");
+    private static final int TARGET_FPS = Integer.getInteger("reel.targetFps", 60);
+    private static final long SPIN_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final int MAX_FRAMES_BEHIND = 5;
+
+    private static volatile boolean active = false;
+
+    private final JFrame frame;
+    private final Supplier<Scene> scene;
+    private final long framePeriod;
+    private final FixedTimestep timestep;
+    private Scene lastScene;
+    private Thread thread;
+    private BufferStrategy strategy;
+
+    /**
+     * Constructs a RenderLoop for a frame.
+     *
+     * @param frame The frame to draw into.
+     * @param scene Supplies the scene to drive on each frame.
+     */
+    public RenderLoop(JFrame frame, Supplier<Scene> scene) {
+        this.frame = frame;
+        this.scene = scene;
+        this.framePeriod = TimeUnit.SECONDS.toNanos(1) / Math.max(1, TARGET_FPS);
+        this.timestep = new FixedTimestep();
+    }
+
+    /**
+     * Gets whether active rendering was requested.
+     *
+     * @return True if the game should run on a RenderLoop rather than Swing timers.
+     */
+    public static boolean isEnabled() {
+        return ENABLED;
+    }
+
+    /**
+     * Gets whether a RenderLoop is currently drawing the frame, in which case Swing painting is skipped.
+     *
+     * @return True while a RenderLoop is running.
+     */
+    public static boolean isActive() {
+        return active;
+    }
+
+    /**
+     * Creates the frame's buffer strategy and starts the loop thread. Must be called once the frame is visible.
+     */
+    public void start() {
+        frame.setIgnoreRepaint(true);
+        frame.createBufferStrategy(2);
+        strategy = frame.getBufferStrategy();
+        active = true;
+        thread = new Thread(this, "render-loop");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Stops the loop thread; Swing painting resumes.
+     */
+    public void stop() {
+        active = false;
+        if (thread != null) {
+            thread.interrupt();
+        }
+    }
+
+    /**
+     * Runs frames at the target rate until stopped. When frames fall too far behind,
+     * the schedule is reset rather than trying to catch up with a burst of frames.
+     */
+    @Override
+    public void run() {
+        long nextFrame = System.nanoTime();
+        while (active) {
+            try {
+                EventQueue.invokeAndWait(this::frame);
+            } catch (InterruptedException e) {
+                return;
+            } catch (InvocationTargetException e) {
+                e.getCause().printStackTrace();
+            }
+
+            nextFrame += framePeriod;
+            long now = System.nanoTime();
+            if (now - nextFrame > MAX_FRAMES_BEHIND * framePeriod) {
+                nextFrame = now;
+            }
+            if (!waitUntil(nextFrame)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Sleeps until shortly before a deadline, then yields until it is reached,
+     * since sleeping alone can overshoot by a whole scheduler tick.
+     *
+     * @param deadline The {@link System#nanoTime()} to wait for.
+     * @return False if the thread was interrupted.
+     */
+    private boolean waitUntil(long deadline) {
+        try {
+            long remaining = deadline - System.nanoTime();
+            while (remaining > SPIN_NANOS) {
+                TimeUnit.NANOSECONDS.sleep(remaining - SPIN_NANOS);
+                remaining = deadline - System.nanoTime();
+            }
+            while (deadline - System.nanoTime() > 0) {
+                Thread.yield();
+            }
+            return true;
+        } catch (InterruptedException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Runs the simulation ticks due for the current scene, draws it scaled to the frame's content area
+     * and interpolated between its last two ticks, and flips it to the screen.
+     * A scene that was not shown on the previous frame starts with fresh timing.
+     */
+    private void frame() {
+        Scene current = scene.get();
+        if (current == null || !active) {
+            return;
+        }
+        if (current != lastScene) {
+            timestep.reset();
+            lastScene = current;
+        }
+        int ticks = timestep.advance();
+        for (int i = 0; i < ticks; i++) {
+            current.update();
+        }
+        float alpha = timestep.getAlpha();
+
+        Container content = frame.getContentPane();
+        Point origin = SwingUtilities.convertPoint(content, 0, 0, frame);
+        do {
+            do {
+                Graphics2D g = (Graphics2D) strategy.getDrawGraphics();
+                try {
+                    g.translate(origin.x, origin.y);
+                    g.clipRect(0, 0, content.getWidth(), content.getHeight());
+                    g.setColor(Color.BLACK);
+                    g.fillRect(0, 0, content.getWidth(), content.getHeight());
+                    g.scale(content.getWidth() / 1920.0, content.getHeight() / 1080.0);
+                    current.render(g, alpha);
+                } finally {
+                    g.dispose();
+                }
+            } while (strategy.contentsRestored());
+            strategy.show();
+        } while (strategy.contentsLost());
+        Toolkit.getDefaultToolkit().sync();
+    }
+}
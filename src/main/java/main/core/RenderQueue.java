@@ -0,0 +1,217 @@
+package main.core;
+
+import java.awt.Composite;
+import java.awt.Graphics2D;
+import java.awt.Paint;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Collects a frame's draw commands and draws them in order. Each command is tagged with a
+ * {@link RenderLayer}, a depth within the layer, and optionally the image it draws. On flush, commands
+ * are sorted stably by layer and depth. Commands that share a layer and depth are taken not to overlap,
+ * so they are also grouped by image, and draws from the same image run back to back.
+ * The camera is applied and removed as the queue moves between world and screen layers.
+ * Queue entries are kept in an array that is reused and sorted in place from frame to frame.
+ * When flushed through a {@link ResolutionScaler}, only the world layers below the first screen layer
+ * go through its buffer; the screen layers and everything above them are drawn at full resolution.
+ */
+public class RenderQueue {
+    private static final Comparator<Entry> ORDER = Comparator
+            .comparingInt((Entry entry) -> entry.layer.getOrder())
+            .thenComparingInt(entry -> entry.depth)
+            .thenComparingInt(entry -> entry.imageGroup)
+            .thenComparingInt(entry -> entry.sequence);
+
+    private final Map<Object, Integer> groups = new IdentityHashMap<>();
+    private Entry[] entries = new Entry[0];
+    private int size = 0;
+    private int lastSize = 0;
+    // What the scaled part of a flush draws, read by the command below so it is created once
+    private int scaledSize = 0;
+    private Camera flushCamera;
+    private float flushAlpha;
+    private final Consumer<Graphics2D> drawScaled = g -> draw(g, 0, scaledSize, flushCamera, flushAlpha);
+
+    /**
+     * Something the queue draws.
+     */
+    public interface Command {
+        /**
+         * Draws the command.
+         *
+         * @param g The Graphics2D object used for drawing, in the coordinates of the command's layer.
+         */
+        void draw(Graphics2D g);
+    }
+
+    /**
+     * Adds a command.
+     *
+     * @param layer The layer to draw in.
+     * @param depth The order within the layer; lower is drawn first.
+     * @param image The image the command draws, for grouping, or null if it draws none.
+     * @param command The command.
+     */
+    public void submit(RenderLayer layer, int depth, Object image, Command command) {
+        if (size == entries.length) {
+            entries = Arrays.copyOf(entries, Math.max(16, size * 2));
+            for (int i = size; i < entries.length; i++) {
+                entries[i] = new Entry();
+            }
+        }
+        Entry entry = entries[size];
+        entry.layer = layer;
+        entry.depth = depth;
+        entry.image = image;
+        entry.command = command;
+        entry.sequence = size;
+        size++;
+    }
+
+    /**
+     * Draws every submitted command in order and empties the queue.
+     *
+     * @param g The Graphics2D object used for drawing, in screen coordinates.
+     * @param camera The camera world layers are drawn through.
+     * @param alpha How far the frame is between the previous tick and the latest one, for the camera.
+     */
+    public void flush(Graphics2D g, Camera camera, float alpha) {
+        flush(g, null, camera, alpha);
+    }
+
+    /**
+     * Draws every submitted command in order and empties the queue. The world layers drawn before the
+     * first screen layer go through the scaler; the rest are drawn straight onto the screen at full resolution.
+     *
+     * @param g The Graphics2D object used for drawing, in screen coordinates.
+     * @param scaler The scaler the world layers are drawn through, or null to draw everything directly.
+     * @param camera The camera world layers are drawn through.
+     * @param alpha How far the frame is between the previous tick and the latest one, for the camera.
+     */
+    public void flush(Graphics2D g, ResolutionScaler scaler, Camera camera, float alpha) {
+        // Groups are numbered in the order they first appear, so grouping keeps submission order where it can
+        for (int i = 0; i < size; i++) {
+            entries[i].imageGroup = group(entries[i].image);
+        }
+        Arrays.sort(entries, 0, size, ORDER);
+
+        try {
+            int split = 0;
+            if (scaler != null) {
+                // World layers above a screen layer stay above it, so they are drawn at full resolution too
+                while (split < size && entries[split].layer.isWorld()) {
+                    split++;
+                }
+                scaledSize = split;
+                flushCamera = camera;
+                flushAlpha = alpha;
+                scaler.draw(g, drawScaled);
+            }
+            draw(g, split, size, camera, alpha);
+        } finally {
+            lastSize = size;
+            flushCamera = null;
+            clear();
+        }
+    }
+
+    /**
+     * Draws a range of the sorted entries.
+     *
+     * @param g The Graphics2D object used for drawing, in screen coordinates.
+     * @param from The first entry to draw.
+     * @param to The entry after the last one to draw.
+     * @param camera The camera world layers are drawn through.
+     * @param alpha How far the frame is between the previous tick and the latest one, for the camera.
+     */
+    private void draw(Graphics2D g, int from, int to, Camera camera, float alpha) {
+        // Commands set their own paint and composite; what they leave behind is undone afterwards
+        Composite composite = g.getComposite();
+        Paint paint = g.getPaint();
+        boolean inWorld = false;
+        try {
+            for (int i = from; i < to; i++) {
+                Entry entry = entries[i];
+                if (entry.layer.isWorld() != inWorld) {
+                    if (inWorld) {
+                        camera.unapply(g, alpha);
+                    } else {
+                        camera.apply(g, alpha);
+                    }
+                    inWorld = !inWorld;
+                }
+                entry.command.draw(g);
+            }
+        } finally {
+            if (inWorld) {
+                camera.unapply(g, alpha);
+            }
+            g.setComposite(composite);
+            g.setPaint(paint);
+        }
+    }
+
+    /**
+     * Empties the queue without drawing, releasing what the commands refer to.
+     */
+    public void clear() {
+        for (int i = 0; i < size; i++) {
+            entries[i].image = null;
+            entries[i].command = null;
+        }
+        groups.clear();
+        size = 0;
+    }
+
+    /**
+     * Gets the number of commands waiting to be drawn.
+     *
+     * @return The number of commands.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Gets how many commands the last flush drew, for the debug overlay.
+     *
+     * @return The number of commands.
+     */
+    public int getLastSize() {
+        return lastSize;
+    }
+
+    /**
+     * Gets the group number of an image for this frame.
+     *
+     * @param key The image, or null.
+     * @return 0 for null, otherwise a number shared by every use of the same image.
+     */
+    private int group(Object key) {
+        if (key == null) {
+            return 0;
+        }
+        Integer group = groups.get(key);
+        if (group == null) {
+            group = groups.size() + 1;
+            groups.put(key, group);
+        }
+        return group;
+    }
+
+    /**
+     * A submitted command and its sort keys.
+     */
+    private static class Entry {
+        private RenderLayer layer;
+        private int depth;
+        private Object image;
+        private Command command;
+        private int sequence;
+        private int imageGroup;
+    }
+}
@@ -0,0 +1,153 @@
+package main.core;
+
+import java.awt.image.BufferedImage;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * A bounded, least-recently-used cache of images rendered in the background, shared by the
+ * {@link ScaledImageCache} and the {@link RotationCache}. An image that is not cached yet is rendered once
+ * on the cache's own thread; until then lookups return null and the caller draws it the slow way,
+ * so a miss never stalls a frame. Once the images hold more than the byte budget, the least recently
+ * used are dropped.
+ *
+ * @param <K> The key an image is rendered from, compared with equals.
+ */
+class RenderedImageCache<K> {
+    private final Map<K, BufferedImage> cache = new LinkedHashMap<>(64, 0.75f, true);
+    private final Set<K> pending = ConcurrentHashMap.newKeySet();
+    private final ExecutorService renderer;
+    private final Function<K, BufferedImage> render;
+    private final Predicate<K> current;
+
+    private long maxBytes;
+    private long bytesResident = 0;
+
+    /**
+     * Constructs a RenderedImageCache.
+     *
+     * @param threadName The name of the thread the images are rendered on.
+     * @param maxBytes The maximum number of bytes of images to keep.
+     * @param render Renders the image for a key.
+     * @param current Checked when a rendered image is about to be cached; a key it rejects was made stale
+     *                while the image was rendering, and the image is thrown away.
+     */
+    RenderedImageCache(String threadName, long maxBytes, Function<K, BufferedImage> render, Predicate<K> current) {
+        this.maxBytes = maxBytes;
+        this.render = render;
+        this.current = current;
+        renderer = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, threadName);
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Returns the image for a key, scheduling it to be rendered in the background if it is not cached yet.
+     *
+     * @param key The key.
+     * @return The image, or null while it is being rendered.
+     */
+    BufferedImage get(K key) {
+        synchronized (cache) {
+            BufferedImage image = cache.get(key);
+            if (image != null) {
+                return image;
+            }
+        }
+        if (pending.add(key)) {
+            renderer.execute(() -> {
+                try {
+                    put(key, render.apply(key));
+                } finally {
+                    pending.remove(key);
+                }
+            });
+        }
+        return null;
+    }
+
+    /**
+     * Sets the memory budget, evicting the least recently used images if the cache is now over it.
+     *
+     * @param bytes The maximum number of bytes of images to keep.
+     */
+    void setMaxBytes(long bytes) {
+        synchronized (cache) {
+            maxBytes = bytes;
+            evict();
+        }
+    }
+
+    /**
+     * Gets the number of bytes held by the cached images.
+     *
+     * @return The resident size in bytes.
+     */
+    long getBytesResident() {
+        synchronized (cache) {
+            return bytesResident;
+        }
+    }
+
+    /**
+     * Gets the number of cached images.
+     *
+     * @return The number of images.
+     */
+    int size() {
+        synchronized (cache) {
+            return cache.size();
+        }
+    }
+
+    /**
+     * Drops every cached image.
+     */
+    void clear() {
+        synchronized (cache) {
+            cache.clear();
+            bytesResident = 0;
+        }
+    }
+
+    /**
+     * Adds a rendered image to the cache and evicts old images to stay within budget.
+     *
+     * @param key The key the image was rendered from.
+     * @param image The image.
+     */
+    private void put(K key, BufferedImage image) {
+        long size = AssetCache.estimateBytes(image);
+        synchronized (cache) {
+            if (size > maxBytes || !current.test(key)) {
+                return;
+            }
+            BufferedImage previous = cache.put(key, image);
+            if (previous != null) {
+                bytesResident -= AssetCache.estimateBytes(previous);
+            }
+            bytesResident += size;
+            evict();
+        }
+    }
+
+    /**
+     * Removes least recently used images until the cache is within budget. Must hold the cache lock.
+     */
+    private void evict() {
+        Iterator<BufferedImage> iterator = cache.values().iterator();
+        while (bytesResident > maxBytes && iterator.hasNext()) {
+            bytesResident -= AssetCache.estimateBytes(iterator.next());
+            iterator.remove();
+        }
+    }
+}
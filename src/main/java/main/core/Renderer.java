@@ -1,86 +1,240 @@
 package main.core;
 
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.FontMetrics;
 import java.awt.Graphics2D;
+import java.awt.Rectangle;
 import main.GameObjects.Background;
 import main.GameObjects.ChargeMeter;
-import main.GameObjects.Door;
 import main.GameObjects.Player;
-import main.GameObjects.Shelf;
 import main.GameObjects.Sprite;
-import main.GUI.Text;
 import main.GameObjects.FishingLine;
-import main.GameObjects.FishingSpot;
 import main.GameObjects.Light;
 import main.GameObjects.Fish;
 import main.GameObjects.TimeOfDayTint;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.function.Consumer;
 
 public class Renderer {
+    private static final Font DEBUG_FONT = new Font("Monospaced", Font.PLAIN, 14);
+    private static final int LOW_QUALITY_MIN_TINT_ALPHA = 32;
+
     private TimeOfDayTint dayLight;
+    private StaticLayer staticLayer;
+    private Lightmap lightmap;
+    private final RenderQueue queue = new RenderQueue();
+    private final List<Consumer<RenderQueue>> submitters = new ArrayList<>();
+    private final List<Sprite> visibleSprites = new ArrayList<>();
+    // Only grows, so a redraw of this area always covers the last statistics drawn
+    private final Rectangle cacheStatsBounds = new Rectangle();
+    // What the current frame draws, read by the commands below so they are created once rather than every frame
+    private Background frameBackground;
+    private FishingLine frameFishingLine;
+    private Player framePlayer;
+    private Fish frameFish;
+    private ChargeMeter frameChargeMeter;
+    private TransientTexts frameTexts;
+    private List<Light> frameLights;
+    private Color frameTint;
+    private float frameTimeOfDay;
+    private Camera frameCamera;
+    private float frameAlpha;
+
+    private final RenderQueue.Command drawStaticLayer = g -> staticLayer.draw(g, frameBackground, Lightmap.isEnabled() ? null : frameLights, frameTimeOfDay);
+    private final RenderQueue.Command drawBackground = g -> frameBackground.draw(g);
+    private final RenderQueue.Command drawFishingLine = g -> frameFishingLine.draw(g);
+    private final RenderQueue.Command drawLights = this::drawLights;
+    private final RenderQueue.Command drawChargeMeter = g -> frameChargeMeter.draw(g);
+    private final RenderQueue.Command drawPlayer = g -> framePlayer.drawInterpolated(g, frameAlpha);
+    private final RenderQueue.Command drawLightmap = g -> lightmap.draw(g, frameLights, frameTint, frameTimeOfDay, frameCamera, frameAlpha);
+    private final RenderQueue.Command drawDayLight = g -> dayLight.draw(g, frameTimeOfDay);
+    private final RenderQueue.Command drawTexts = g -> frameTexts.draw(g);
+    private final RenderQueue.Command drawFish = g -> frameFish.drawInterpolated(g, frameAlpha);
+
     public Renderer(){
         dayLight = new TimeOfDayTint();
+        staticLayer = new StaticLayer();
+        lightmap = new Lightmap();
     }
     public void draw(Graphics2D g , FishingLine fishingLine,
                       Player player,
-                     List<Text> texts, Fish fish, float timeOfDay,ChargeMeter chargeMeter,GameData gameData,Background background) {
-
-        List<Light> lights = gameData.getLights();
-
-        
-        background.draw(g);
-
+                     TransientTexts texts, Fish fish, float timeOfDay,ChargeMeter chargeMeter,GameData gameData,Background background, Camera camera, float alpha, ResolutionScaler resolutionScaler) {
+
+        // At the lowest quality tier no lights are drawn, and faint tints are skipped
+        QualityGovernor.Tier tier = QualityGovernor.getTier();
+        List<Light> lights = (tier == QualityGovernor.Tier.LOW) ? null : gameData.getLights();
+        Color tint = dayLight.getColor(timeOfDay);
+        boolean tinted = tier != QualityGovernor.Tier.LOW || tint.getAlpha() >= LOW_QUALITY_MIN_TINT_ALPHA;
+
+        frameBackground = background;
+        frameFishingLine = fishingLine;
+        framePlayer = player;
+        frameFish = fish;
+        frameChargeMeter = chargeMeter;
+        frameTexts = texts;
+        frameLights = lights;
+        frameTint = tint;
+        frameTimeOfDay = timeOfDay;
+        frameCamera = camera;
+        frameAlpha = alpha;
+
+        // The background and steady lights come from one cached image; only animated lights are drawn over it.
+        // With the lightmap on, every light is drawn later as part of the lightmap instead
+        boolean lit = Lightmap.isEnabled();
+        queue.submit(RenderLayer.BACKGROUND, 0, background.getCurrentImage(), StaticLayer.isEnabled() ? drawStaticLayer : drawBackground);
 
         if (fishingLine != null) {
-            fishingLine.draw(g);
+            queue.submit(RenderLayer.WORLD, 0, null, drawFishingLine);
         }
 
-        if (lights != null) {
-            for (Light light : lights) {
-                light.draw(g);
-                light.update(timeOfDay);
-            }
+        if (lights != null && !lit) {
+            queue.submit(RenderLayer.LIGHTS, 0, null, drawLights);
         }
-        if(chargeMeter != null){
-            chargeMeter.draw(g);
+
+        if (chargeMeter != null) {
+            queue.submit(RenderLayer.PLAYER, 0, null, drawChargeMeter);
         }
-        player.draw(g);
-        dayLight.draw(g,timeOfDay);
+        queue.submit(RenderLayer.PLAYER, 1, player.getCurrentImage(), drawPlayer);
 
-        for (Text text : texts) {
-            text.draw(g);
+        if (lit && tinted) {
+            queue.submit(RenderLayer.TINT, 0, null, drawLightmap);
+        } else if (tinted) {
+            queue.submit(RenderLayer.TINT, 0, null, drawDayLight);
         }
 
+        queue.submit(RenderLayer.TEXT, 0, null, drawTexts);
+
         if (fish != null) {
-            fish.draw(g);
+            queue.submit(RenderLayer.FISH, 0, fish.getCurrentImage(), drawFish);
+        }
+
+        for (Consumer<RenderQueue> submitter : submitters) {
+            submitter.accept(queue);
+        }
+        try {
+            queue.flush(g, resolutionScaler, camera, alpha);
+        } finally {
+            // Nothing from this frame is held on to until the next
+            frameBackground = null;
+            frameFishingLine = null;
+            framePlayer = null;
+            frameFish = null;
+            frameChargeMeter = null;
+            frameTexts = null;
+            frameLights = null;
+            frameTint = null;
+            frameCamera = null;
         }
+    }
+
+    /**
+     * Draws the lights that are not part of the static layer directly over the world.
+     * During a partial repaint, lights outside the repainted area are skipped.
+     *
+     * @param g The Graphics2D object used for drawing, translated into the world.
+     */
+    private void drawLights(Graphics2D g) {
+        boolean layered = StaticLayer.isEnabled();
+        Rectangle clip = g.getClipBounds();
+        for (int i = 0; i < frameLights.size(); i++) {
+            Light light = frameLights.get(i);
+            if ((!layered || light.isAnimated()) && (clip == null || clip.intersects(light.getBounds()))) {
+                light.draw(g);
+            }
+        }
+    }
 
+    /**
+     * Adds something that submits its own draw commands every frame, in any layer, after the game's own.
+     *
+     * @param submitter Called with the frame's render queue before it is drawn.
+     */
+    public void addSubmitter(Consumer<RenderQueue> submitter) {
+        submitters.add(submitter);
+    }
 
+    /**
+     * Gets the color the day tint is drawn in at a time of day.
+     *
+     * @param timeOfDay The time of day, from 0 (midnight) to 1 (the next midnight).
+     * @return The tint color.
+     */
+    public Color getTint(float timeOfDay) {
+        return dayLight.getColor(timeOfDay);
     }
 
-    public void drawDebug(Graphics2D g2d, GameData gameData) {
-        // Implement any debug drawing logic here
+    /**
+     * Draws the level's collision shapes that are on screen.
+     *
+     * @param g2d The Graphics2D object used for drawing, already translated into the world.
+     * @param gameData The level being drawn.
+     * @param viewport The visible area in world coordinates.
+     */
+    public void drawDebug(Graphics2D g2d, GameData gameData, Rectangle viewport) {
         if (gameData.getWater() != null) {
             gameData.getWater().draw(g2d);
         }
 
-        if (gameData.getShelves() != null) {
-            for (Shelf shelf : gameData.getShelves()) {
-                shelf.draw(g2d);
+        // Only the shelves, doors, sprites and fishing spots intersecting the viewport are drawn
+        try {
+            gameData.getGrid().query(viewport, visibleSprites);
+            for (Sprite sprite : visibleSprites) {
+                sprite.draw(g2d);
             }
+        } finally {
+            visibleSprites.clear();
         }
+    }
 
-        for (Door door : gameData.getDoors()) {
-            door.draw(g2d);
+    /**
+     * Draws the memory held by the image caches, the number of temporary texts, how much of the screen was last repainted,
+     * the render scale and the quality tier with its recent switches in the top-left corner.
+     *
+     * @param g2d The Graphics2D object used for drawing.
+     * @param texts The temporary texts showing.
+     * @param resolutionScaler The scaler the world is drawn through.
+     * @param dirtyRegions The regions the screen is repainted in.
+     */
+    public void drawCacheStats(Graphics2D g2d, TransientTexts texts, ResolutionScaler resolutionScaler, DirtyRegions dirtyRegions) {
+        List<String> lines = new ArrayList<>(Arrays.asList(
+            "Decoded images: " + AssetCache.getBytesResident() / 1024 + " KB",
+            "Scaled frames: " + ScaledImageCache.getBytesResident() / 1024 + " KB",
+            "Rotated frames: " + RotationCache.getSize() + " at " + RotationCache.getStep() + "\u00b0, "
+                    + RotationCache.getBytesResident() / 1024 + " KB",
+            "Static layer rebuilds: " + staticLayer.getRebuilds(),
+            "Lightmap renders: " + lightmap.getRenders(),
+            "Render queue: " + queue.getLastSize() + " commands",
+            "Text labels: " + TextCache.getSize() + ", " + TextCache.getBytesResident() / 1024 + " KB",
+            "Temporary texts: " + texts.size() + " of " + TransientTexts.getCapacity() + ", " + texts.getPooled() + " pooled",
+            String.format("Repainted: %.1f%% of the screen in %d areas", dirtyRegions.getPaintedArea() * 100.0 / (1920 * 1080),
+                    dirtyRegions.getPaintedRegions()),
+            String.format("Render scale: %.0f%%, %.1f ms", resolutionScaler.getScale() * 100, resolutionScaler.getAverageMillis()),
+            String.format("Quality: %s%s, %.1f ms", QualityGovernor.getTier(), QualityGovernor.isEnabled() ? "" : " (fixed)", QualityGovernor.getAverageMillis())
+        ));
+        for (String change : QualityGovernor.getHistory()) {
+            lines.add("  " + change);
         }
-
-        for (Sprite sprite : gameData.getSprites()) {
-            sprite.draw(g2d);
+        g2d.setFont(DEBUG_FONT);
+        FontMetrics metrics = g2d.getFontMetrics();
+        for (int i = 0; i < lines.size(); i++) {
+            g2d.setColor(Color.BLACK);
+            g2d.drawString(lines.get(i), 11, 21 + i * 16);
+            g2d.setColor(Color.WHITE);
+            g2d.drawString(lines.get(i), 10, 20 + i * 16);
+            cacheStatsBounds.add(new Rectangle(10, 20 + i * 16 - metrics.getAscent(),
+                    metrics.stringWidth(lines.get(i)) + 1, metrics.getHeight() + 1));
         }
+    }
 
-        if (gameData.getFishingSpots() != null) {
-            for (FishingSpot fishingSpot : gameData.getFishingSpots()) {
-                fishingSpot.draw(g2d);
-            }
-        }
+    /**
+     * Gets the area the statistics from {@link #drawCacheStats} are drawn in, so it can be redrawn when they change.
+     *
+     * @return The area in screen coordinates, or an empty rectangle if they have not been drawn.
+     */
+    public Rectangle getCacheStatsBounds() {
+        return new Rectangle(cacheStatsBounds);
     }
 }
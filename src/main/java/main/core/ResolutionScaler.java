@@ -0,0 +1,156 @@
+package main.core;
+
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.RenderingHints;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Trades resolution for frame rate. The world is drawn into an offscreen buffer at a fraction of the
+ * 1920x1080 design resolution, then stretched over the screen with nearest-neighbour filtering,
+ * which keeps the pixel art's hard edges. The fraction is adjusted from how long frames take to draw:
+ * while the average is over the frame budget of {@code -Dreel.targetFps} (60 by default) it steps down,
+ * and once there is plenty of room it steps back up, never more often than every {@value #COOLDOWN_FRAMES} frames.
+ * At full scale the world is drawn directly, without the buffer. Screen layers such as the tint and texts are not
+ * drawn through the scaler; the {@link RenderQueue} draws them over the stretched world at full resolution.
+ * Enabled with {@code -Dreel.dynamicResolution=true}; the lowest scale is {@code -Dreel.minRenderScale} (0.5 by default).
+ */
+public class ResolutionScaler {
+    private static final boolean ENABLED = Boolean.getBoolean("reel.dynamicResolution");
+    private static final double MIN_SCALE = Math.min(1.0, Math.max(0.1, Double.parseDouble(System.getProperty("reel.minRenderScale", "0.5"))));
+    private static final long BUDGET_NANOS = TimeUnit.SECONDS.toNanos(1) / Math.max(1, Integer.getInteger("reel.targetFps", 60));
+    private static final int SCREEN_WIDTH = 1920;
+    private static final int SCREEN_HEIGHT = 1080;
+    private static final double STEP = 0.05;
+    private static final double AVERAGE_WEIGHT = 0.1;
+    // Drawing cost grows with the square of the scale, so only step up when a step would still fit the budget
+    private static final double HEADROOM = 0.7;
+    private static final int COOLDOWN_FRAMES = 20;
+
+    private double scale = 1.0;
+    private double averageNanos = 0;
+    private int framesSinceChange = 0;
+    private BufferedImage buffer;
+
+    /**
+     * Gets whether dynamic resolution is enabled.
+     *
+     * @return True if enabled with {@code -Dreel.dynamicResolution=true}.
+     */
+    public static boolean isEnabled() {
+        return ENABLED;
+    }
+
+    /**
+     * Draws the world at the current scale.
+     *
+     * @param g The Graphics2D object used for drawing, in the 1920x1080 design resolution.
+     * @param world Draws the world in the design resolution.
+     */
+    public void draw(Graphics2D g, Consumer<Graphics2D> world) {
+        if (!ENABLED || scale >= 1.0) {
+            buffer = null;
+            world.accept(g);
+        } else {
+            drawScaled(g, world);
+        }
+    }
+
+    /**
+     * Updates the scale from how long a frame took to draw. A frame painted as several separate areas
+     * is recorded once, with the time of all of them. Only frames painted to the screen are recorded;
+     * an offscreen capture is not, so one slow capture cannot step the scale down and start the cooldown.
+     *
+     * @param frameNanos How long the frame took to draw.
+     */
+    public void record(long frameNanos) {
+        if (ENABLED) {
+            adjust(frameNanos);
+        }
+    }
+
+    /**
+     * Gets the current fraction of the design resolution the world is drawn at.
+     *
+     * @return The scale, from {@code -Dreel.minRenderScale} to 1.
+     */
+    public double getScale() {
+        return scale;
+    }
+
+    /**
+     * Gets the recent average time taken to draw the world, for the debug overlay.
+     *
+     * @return The average in milliseconds.
+     */
+    public double getAverageMillis() {
+        return averageNanos / TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    /**
+     * Draws the world into the buffer and stretches it over the design resolution. During a partial repaint
+     * only the matching part of the buffer is redrawn; the rest still holds the previous frame.
+     *
+     * @param g The Graphics2D object used for drawing, in the design resolution.
+     * @param world Draws the world in the design resolution.
+     */
+    private void drawScaled(Graphics2D g, Consumer<Graphics2D> world) {
+        int w = (int) Math.round(SCREEN_WIDTH * scale);
+        int h = (int) Math.round(SCREEN_HEIGHT * scale);
+        boolean fresh = buffer == null || buffer.getWidth() != w || buffer.getHeight() != h;
+        if (fresh) {
+            buffer = CompatibleImages.create(w, h, Transparency.OPAQUE);
+        }
+
+        Graphics2D bg = buffer.createGraphics();
+        try {
+            Rectangle clip = g.getClipBounds();
+            if (clip != null && !fresh) {
+                // Round outwards so every buffer pixel the clip touches is redrawn
+                int x1 = (int) Math.floor(clip.x * scale) - 1;
+                int y1 = (int) Math.floor(clip.y * scale) - 1;
+                int x2 = (int) Math.ceil((clip.x + clip.width) * scale) + 1;
+                int y2 = (int) Math.ceil((clip.y + clip.height) * scale) + 1;
+                bg.clipRect(x1, y1, x2 - x1, y2 - y1);
+            }
+            bg.scale(w / (double) SCREEN_WIDTH, h / (double) SCREEN_HEIGHT);
+            world.accept(bg);
+        } finally {
+            bg.dispose();
+        }
+
+        Object interpolation = g.getRenderingHint(RenderingHints.KEY_INTERPOLATION);
+        g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_NEAREST_NEIGHBOR);
+        g.drawImage(buffer, 0, 0, SCREEN_WIDTH, SCREEN_HEIGHT, null);
+        if (interpolation != null) {
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, interpolation);
+        }
+    }
+
+    /**
+     * Folds a frame's drawing time into the average and steps the scale if it is over or well under budget.
+     *
+     * @param frameNanos How long the frame took to draw.
+     */
+    private void adjust(long frameNanos) {
+        averageNanos = (averageNanos == 0) ? frameNanos : averageNanos + (frameNanos - averageNanos) * AVERAGE_WEIGHT;
+        framesSinceChange++;
+        if (framesSinceChange < COOLDOWN_FRAMES) {
+            return;
+        }
+        double next = scale;
+        if (averageNanos > BUDGET_NANOS) {
+            next = Math.max(MIN_SCALE, scale - STEP);
+        } else if (averageNanos < BUDGET_NANOS * HEADROOM) {
+            next = Math.min(1.0, scale + STEP);
+        }
+        if (next != scale) {
+            // Keep to whole steps so the same few buffer sizes are reused
+            scale = Math.max(MIN_SCALE, Math.min(1.0, Math.round(next / STEP) * STEP));
+            framesSinceChange = 0;
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package main.core;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The folder and file listing of the resources, generated at build time by
+ * {@link main.tools.ResourceIndexer} and read once into immutable maps.
+ * Lookups behave the same whether the game runs from the build folder or from the assembled JAR.
+ * When no index was built (e.g. running from an IDE) the lookups return null and callers
+ * fall back to scanning the resources themselves.
+ */
+public class ResourceIndex {
+    private static final String INDEX_FILE = "resources.index";
+
+    private static Map<String, List<String>> folders;
+    private static Map<String, List<String>> files;
+    private static boolean loaded = false;
+
+    private ResourceIndex() {
+    }
+
+    /**
+     * Gets the subfolders of a resource folder.
+     *
+     * @param path The resource folder, with or without a leading slash.
+     * @return The subfolder paths in order, an empty list if it has none, or null if there is no index.
+     */
+    public static List<String> getFolders(String path) {
+        return lookup(path, true);
+    }
+
+    /**
+     * Gets the files directly inside a resource folder.
+     *
+     * @param path The resource folder, with or without a leading slash.
+     * @return The file paths in order, an empty list if it has none, or null if there is no index.
+     */
+    public static List<String> getFiles(String path) {
+        return lookup(path, false);
+    }
+
+    /**
+     * Looks a folder up in the index, loading the index on first use.
+     *
+     * @param path The resource folder.
+     * @param wantFolders true for subfolders, false for files.
+     * @return The listing, or null if there is no index.
+     */
+    private static List<String> lookup(String path, boolean wantFolders) {
+        if (!isAvailable()) {
+            return null;
+        }
+        String key = AssetCache.normalize(path);
+        if (key.endsWith("/")) {
+            key = key.substring(0, key.length() - 1);
+        }
+        List<String> entries = (wantFolders ? folders : files).get(key);
+        return entries != null ? entries : Collections.emptyList();
+    }
+
+    /**
+     * Gets whether a generated index was found on the classpath.
+     *
+     * @return True if lookups are served from the index.
+     */
+    public static synchronized boolean isAvailable() {
+        if (!loaded) {
+            load();
+            loaded = true;
+        }
+        return folders != null;
+    }
+
+    /**
+     * Reads the index into immutable maps. Leaves them null if the index is missing or unreadable.
+     */
+    private static void load() {
+        try (InputStream in = ResourceIndex.class.getClassLoader().getResourceAsStream(INDEX_FILE)) {
+            if (in == null) {
+                return;
+            }
+            BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+            Map<String, List<String>> folderMap = new HashMap<>();
+            Map<String, List<String>> fileMap = new HashMap<>();
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String[] fields = line.split("\t");
+                if (fields.length != 3) {
+                    continue;
+                }
+                Map<String, List<String>> target = fields[0].equals("folder") ? folderMap : fileMap;
+                target.computeIfAbsent(fields[1], k -> new ArrayList<>()).add(fields[2]);
+            }
+            folders = freeze(folderMap);
+            files = freeze(fileMap);
+        } catch (IOException e) {
+            System.err.println("Error loading resource index: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Makes a map of lists immutable.
+     *
+     * @param map The map to freeze.
+     * @return An unmodifiable copy with unmodifiable lists.
+     */
+    private static Map<String, List<String>> freeze(Map<String, List<String>> map) {
+        Map<String, List<String>> frozen = new HashMap<>();
+        for (Map.Entry<String, List<String>> entry : map.entrySet()) {
+            frozen.put(entry.getKey(), Collections.unmodifiableList(entry.getValue()));
+        }
+        return Collections.unmodifiableMap(frozen);
+    }
+}
@@ -0,0 +1,189 @@
+package main.core;
+
+import java.awt.Graphics2D;
+import java.awt.Image;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+
+/**
+ * A bounded, least-recently-used cache of frames pre-rendered at a size and a quantized angle,
+ * so that drawing a rotated sprite is an axis-aligned blit instead of a transformed one.
+ * Angles are rounded to buckets of {@code -Dreel.rotationStep} degrees (5 by default).
+ * Frames for a bucket that is not cached yet are rendered on a background thread; until then
+ * {@link #get} returns null and the caller draws with a transform as before.
+ * The budget, eviction and background rendering are handled by a {@link RenderedImageCache}.
+ */
+public class RotationCache {
+    private static final long DEFAULT_MAX_BYTES = Long.getLong("reel.rotationCacheMB", 32) * 1024 * 1024;
+
+    private static volatile int step = Math.max(1, Integer.getInteger("reel.rotationStep", 5));
+    // Frames rendered for a bucket size that has since changed are thrown away
+    private static final RenderedImageCache<Key> cache = new RenderedImageCache<>("frame-rotator", DEFAULT_MAX_BYTES,
+            RotationCache::render, key -> key.step == step);
+
+    private RotationCache() {
+    }
+
+    /**
+     * Draws an image at the given size, rotated about its centre, using a pre-rendered copy when one is cached.
+     *
+     * @param g The Graphics2D object used for drawing.
+     * @param image The source image.
+     * @param x The x-coordinate of the unrotated image.
+     * @param y The y-coordinate of the unrotated image.
+     * @param w The width to draw the image at.
+     * @param h The height to draw the image at.
+     * @param degrees The clockwise rotation in degrees.
+     * @return True if it was drawn, false if the rotation is still being rendered.
+     */
+    public static boolean draw(Graphics2D g, Image image, int x, int y, int w, int h, int degrees) {
+        BufferedImage rotated = get(image, w, h, degrees);
+        if (rotated == null) {
+            return false;
+        }
+        g.drawImage(rotated, x + (w - rotated.getWidth()) / 2, y + (h - rotated.getHeight()) / 2, null);
+        return true;
+    }
+
+    /**
+     * Returns a copy of the image scaled to the given size and rotated to the nearest angle bucket,
+     * scheduling it to be rendered in the background if it is not cached yet.
+     * The copy is square, sized to fit the rotated image, and centred on the same point as the original.
+     *
+     * @param image The source image.
+     * @param w The width to draw the image at.
+     * @param h The height to draw the image at.
+     * @param degrees The clockwise rotation in degrees.
+     * @return The rotated image, or null while it is being rendered.
+     */
+    public static BufferedImage get(Image image, int w, int h, int degrees) {
+        if (image == null || w <= 0 || h <= 0) {
+            return null;
+        }
+        int size = step;
+        return cache.get(new Key(image, w, h, size, bucketIndex(degrees, size)));
+    }
+
+    /**
+     * Rounds an angle to its bucket.
+     *
+     * @param degrees The angle in degrees.
+     * @return The bucket's angle, between 0 and 359.
+     */
+    public static int bucket(int degrees) {
+        int size = step;
+        return bucketIndex(degrees, size) * size;
+    }
+
+    /**
+     * Gets which bucket an angle falls in. When the bucket size does not divide 360 the last bucket
+     * is narrower, and angles closer to 360 than to it wrap round to bucket 0.
+     *
+     * @param degrees The angle in degrees.
+     * @param size The bucket size in degrees.
+     * @return The bucket's index, from 0 to the number of buckets minus one.
+     */
+    private static int bucketIndex(int degrees, int size) {
+        int angle = Math.floorMod(degrees, 360);
+        int index = Math.round(angle / (float) size);
+        if (index * size >= 360 || 360 - angle < Math.abs(angle - index * size)) {
+            return 0;
+        }
+        return index;
+    }
+
+    /**
+     * Sets the size of the angle buckets. Cached frames rendered at other buckets are dropped.
+     *
+     * @param degrees The bucket size in degrees.
+     */
+    public static void setStep(int degrees) {
+        // Set first, so a frame still rendering for the old size is rejected rather than cached after the clear
+        step = Math.max(1, degrees);
+        cache.clear();
+    }
+
+    /**
+     * Gets the size of the angle buckets.
+     *
+     * @return The bucket size in degrees.
+     */
+    public static int getStep() {
+        return step;
+    }
+
+    /**
+     * Sets the memory budget of the cache, evicting the least recently used frames if it is now over.
+     *
+     * @param bytes The maximum number of bytes of rotated frames to keep.
+     */
+    public static void setMaxBytes(long bytes) {
+        cache.setMaxBytes(bytes);
+    }
+
+    /**
+     * Gets the number of bytes held by rotated frames.
+     *
+     * @return The resident size in bytes.
+     */
+    public static long getBytesResident() {
+        return cache.getBytesResident();
+    }
+
+    /**
+     * Gets the number of rotated frames held.
+     *
+     * @return The number of cached frames.
+     */
+    public static int getSize() {
+        return cache.size();
+    }
+
+    /**
+     * Renders a frame at its size and angle with nearest-neighbour sampling, matching how
+     * the frames were drawn with a rotated Graphics2D before.
+     *
+     * @param key The source image, size and angle.
+     * @return A display-compatible rotated copy.
+     */
+    private static BufferedImage render(Key key) {
+        int side = (int) Math.ceil(Math.sqrt((double) key.w * key.w + (double) key.h * key.h));
+        BufferedImage rotated = CompatibleImages.create(side, side, Transparency.TRANSLUCENT);
+        Graphics2D g = rotated.createGraphics();
+        g.rotate(Math.toRadians(key.index * key.step), side / 2.0, side / 2.0);
+        g.drawImage(key.image, (side - key.w) / 2, (side - key.h) / 2, key.w, key.h, null);
+        g.dispose();
+        return rotated;
+    }
+
+    /**
+     * Identifies a source image, by identity, at a particular size and angle bucket.
+     * The bucket size is part of the key, so frames rendered before the size changed never match.
+     */
+    private static class Key {
+        private final Image image;
+        private final int w, h, step, index;
+
+        Key(Image image, int w, int h, int step, int index) {
+            this.image = image;
+            this.w = w;
+            this.h = h;
+            this.step = step;
+            this.index = index;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            return image == other.image && w == other.w && h == other.h && step == other.step && index == other.index;
+        }
+
+        @Override
+        public int hashCode() {
+            return (((System.identityHashCode(image) * 31 + w) * 31 + h) * 31 + step) * 31 + index;
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package main.core;
+
+import java.awt.Graphics2D;
+import java.awt.Image;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+
+/**
+ * A bounded, least-recently-used cache of frames pre-scaled to the size they are drawn at.
+ * Once a frame has been scaled, drawing it is a 1:1 blit instead of a resize on every paint.
+ * Frames for a size that is not cached yet are scaled on a background thread while the
+ * caller keeps drawing with an on-the-fly resize, so a size change never stalls a frame.
+ * The budget, eviction and background scaling are handled by a {@link RenderedImageCache}.
+ */
+public class ScaledImageCache {
+    private static final long DEFAULT_MAX_BYTES = Long.getLong("reel.scaledCacheMB", 64) * 1024 * 1024;
+
+    private static final RenderedImageCache<Key> cache = new RenderedImageCache<>("frame-scaler", DEFAULT_MAX_BYTES,
+            key -> scale(key.image, key.w, key.h), key -> true);
+
+    private ScaledImageCache() {
+    }
+
+    /**
+     * Draws an image at the given size, using a pre-scaled copy when one is cached.
+     *
+     * @param g The Graphics2D object used for drawing.
+     * @param image The source image.
+     * @param x The x-coordinate to draw at.
+     * @param y The y-coordinate to draw at.
+     * @param w The width to draw the image at.
+     * @param h The height to draw the image at.
+     */
+    public static void draw(Graphics2D g, Image image, int x, int y, int w, int h) {
+        Image scaled = get(image, w, h);
+        if (scaled != null) {
+            g.drawImage(scaled, x, y, null);
+        } else {
+            g.drawImage(image, x, y, w, h, null);
+        }
+    }
+
+    /**
+     * Returns a copy of the image scaled to the given size, scheduling it to be scaled in the
+     * background if it is not cached yet.
+     *
+     * @param image The source image.
+     * @param w The target width.
+     * @param h The target height.
+     * @return The scaled image, the source itself if it is already that size, or null while it is being scaled.
+     */
+    public static Image get(Image image, int w, int h) {
+        if (image == null || w <= 0 || h <= 0) {
+            return null;
+        }
+        if (image.getWidth(null) == w && image.getHeight(null) == h) {
+            return image;
+        }
+        return cache.get(new Key(image, w, h));
+    }
+
+    /**
+     * Sets the memory budget of the cache, evicting the least recently used frames if it is now over.
+     *
+     * @param bytes The maximum number of bytes of scaled frames to keep.
+     */
+    public static void setMaxBytes(long bytes) {
+        cache.setMaxBytes(bytes);
+    }
+
+    /**
+     * Gets the number of bytes held by scaled frames.
+     *
+     * @return The resident size in bytes.
+     */
+    public static long getBytesResident() {
+        return cache.getBytesResident();
+    }
+
+    /**
+     * Scales an image with nearest-neighbour sampling, matching how the frames were drawn before.
+     *
+     * @param image The source image.
+     * @param w The target width.
+     * @param h The target height.
+     * @return A display-compatible copy at the target size.
+     */
+    private static BufferedImage scale(Image image, int w, int h) {
+        int transparency = (image instanceof BufferedImage)
+                ? ((BufferedImage) image).getColorModel().getTransparency()
+                : Transparency.TRANSLUCENT;
+        BufferedImage scaled = CompatibleImages.create(w, h, transparency);
+        Graphics2D g = scaled.createGraphics();
+        g.drawImage(image, 0, 0, w, h, null);
+        g.dispose();
+        return scaled;
+    }
+
+    /**
+     * Identifies a source image, by identity, at a particular size.
+     */
+    private static class Key {
+        private final Image image;
+        private final int w, h;
+
+        Key(Image image, int w, int h) {
+            this.image = image;
+            this.w = w;
+            this.h = h;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            return image == other.image && w == other.w && h == other.h;
+        }
+
+        @Override
+        public int hashCode() {
+            return (System.identityHashCode(image) * 31 + w) * 31 + h;
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package main.core;
+
+import java.awt.Graphics2D;
+
+/**
+ * A screen that can be stepped and drawn by either the Swing timer or the {@link RenderLoop}.
+ * Both methods are called on the Event Dispatch Thread, so scenes can share state with their input listeners.
+ */
+public interface Scene {
+    /**
+     * Advances the scene by one fixed-length tick of {@link FixedTimestep#TICK_NANOS}.
+     */
+    void update();
+
+    /**
+     * Draws the scene in the 1920x1080 design resolution; the caller scales it to the window.
+     *
+     * @param g The Graphics2D object used for drawing.
+     * @param alpha How far the frame is between the previous tick (0) and the latest one (1),
+     *              for interpolating moving sprites.
+     */
+    void render(Graphics2D g, float alpha);
+}
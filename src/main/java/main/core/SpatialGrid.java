@@ -0,0 +1,262 @@
+package main.core;
+
+import java.awt.Rectangle;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import main.GameObjects.Sprite;
+
+/**
+ * A uniform grid over world space that finds the sprites overlapping an area without testing every sprite.
+ * Each sprite is filed under every cell its bounds touch; a query only looks at the cells the area touches,
+ * so its cost depends on what is nearby rather than on the size of the level.
+ * Query results come back in insertion order, so callers see sprites in the same order as the lists they came from.
+ * A sprite is filed where it is when inserted; the grid is meant for the level's static objects, and a sprite that
+ * moves has to be removed and inserted again. Queries fill a list the caller keeps, so they allocate nothing.
+ *
+ * @param <T> The type of sprite stored in the grid.
+ */
+public class SpatialGrid<T extends Sprite> {
+    /** The default cell size, a quarter of the width of one 1920x1080 screen. */
+    public static final int DEFAULT_CELL_SIZE = 480;
+
+    private final int cellSize;
+    private final Map<Cell, List<Entry<T>>> cells = new HashMap<>();
+    // Looks cells up without creating a key each time; only the keys stored in the map are separate objects
+    private final Cell probe = new Cell(0, 0);
+    private final Map<T, Entry<T>> entries = new IdentityHashMap<>();
+    private final List<Entry<T>> found = new ArrayList<>();
+    private final Comparator<Entry<T>> byOrder = Comparator.comparingInt(entry -> entry.order);
+    private int nextOrder = 0;
+    private int queryStamp = 0;
+
+    /**
+     * Constructs an empty SpatialGrid with the default cell size.
+     */
+    public SpatialGrid() {
+        this(DEFAULT_CELL_SIZE);
+    }
+
+    /**
+     * Constructs an empty SpatialGrid.
+     *
+     * @param cellSize The width and height of each cell in world units.
+     */
+    public SpatialGrid(int cellSize) {
+        this.cellSize = Math.max(1, cellSize);
+    }
+
+    /**
+     * Adds every sprite in a list, skipping a null list.
+     *
+     * @param sprites The sprites to add.
+     */
+    public void insertAll(List<? extends T> sprites) {
+        if (sprites != null) {
+            for (T sprite : sprites) {
+                insert(sprite);
+            }
+        }
+    }
+
+    /**
+     * Adds a sprite to the cells its current bounds touch.
+     *
+     * @param sprite The sprite to add.
+     */
+    public void insert(T sprite) {
+        if (sprite == null || entries.containsKey(sprite)) {
+            return;
+        }
+        Entry<T> entry = new Entry<>(sprite, nextOrder++);
+        entries.put(sprite, entry);
+        file(entry);
+    }
+
+    /**
+     * Removes a sprite from the grid.
+     *
+     * @param sprite The sprite to remove.
+     */
+    public void remove(T sprite) {
+        Entry<T> entry = entries.remove(sprite);
+        if (entry != null) {
+            unfile(entry);
+        }
+    }
+
+    /**
+     * Removes every sprite from the grid.
+     */
+    public void clear() {
+        cells.clear();
+        entries.clear();
+        nextOrder = 0;
+    }
+
+    /**
+     * Finds the sprites whose bounds overlap an area.
+     *
+     * @param area The area to search, in world coordinates.
+     * @param result The list the overlapping sprites are added to, in insertion order.
+     */
+    public void query(Rectangle area, List<? super T> result) {
+        // A sprite filed under several of the cells is only taken the first time this query meets it
+        queryStamp++;
+        // Touching edges count as overlapping, so the cells just past each edge are searched too
+        int firstX = Math.floorDiv(area.x - 1, cellSize);
+        int firstY = Math.floorDiv(area.y - 1, cellSize);
+        int lastX = Math.floorDiv(area.x + area.width, cellSize);
+        int lastY = Math.floorDiv(area.y + area.height, cellSize);
+        try {
+            for (int cy = firstY; cy <= lastY; cy++) {
+                for (int cx = firstX; cx <= lastX; cx++) {
+                    List<Entry<T>> cell = cells.get(probe.set(cx, cy));
+                    if (cell == null) {
+                        continue;
+                    }
+                    for (int i = 0; i < cell.size(); i++) {
+                        Entry<T> entry = cell.get(i);
+                        if (entry.stamp != queryStamp) {
+                            entry.stamp = queryStamp;
+                            if (overlaps(entry.sprite, area)) {
+                                found.add(entry);
+                            }
+                        }
+                    }
+                }
+            }
+            found.sort(byOrder);
+            for (int i = 0; i < found.size(); i++) {
+                result.add(found.get(i).sprite);
+            }
+        } finally {
+            found.clear();
+        }
+    }
+
+    /**
+     * Gets the number of sprites in the grid.
+     *
+     * @return The number of sprites.
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Files an entry under the cells its sprite's bounds currently touch.
+     *
+     * @param entry The entry to file.
+     */
+    private void file(Entry<T> entry) {
+        Sprite sprite = entry.sprite;
+        entry.range = cellRange(sprite.getX(), sprite.getY(), sprite.getW(), sprite.getH());
+        for (int cy = entry.range.y; cy < entry.range.y + entry.range.height; cy++) {
+            for (int cx = entry.range.x; cx < entry.range.x + entry.range.width; cx++) {
+                cells.computeIfAbsent(new Cell(cx, cy), k -> new ArrayList<>()).add(entry);
+            }
+        }
+    }
+
+    /**
+     * Removes an entry from the cells it was filed under.
+     *
+     * @param entry The entry to remove.
+     */
+    private void unfile(Entry<T> entry) {
+        for (int cy = entry.range.y; cy < entry.range.y + entry.range.height; cy++) {
+            for (int cx = entry.range.x; cx < entry.range.x + entry.range.width; cx++) {
+                List<Entry<T>> cell = cells.get(probe.set(cx, cy));
+                if (cell != null) {
+                    cell.remove(entry);
+                    if (cell.isEmpty()) {
+                        cells.remove(probe);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Gets the block of cells a rectangle touches.
+     *
+     * @param x The x-coordinate of the rectangle.
+     * @param y The y-coordinate of the rectangle.
+     * @param w The width of the rectangle.
+     * @param h The height of the rectangle.
+     * @return The first cell column and row, and the number of columns and rows.
+     */
+    private Rectangle cellRange(int x, int y, int w, int h) {
+        int firstX = Math.floorDiv(x, cellSize);
+        int firstY = Math.floorDiv(y, cellSize);
+        int lastX = Math.floorDiv(x + Math.max(w, 1) - 1, cellSize);
+        int lastY = Math.floorDiv(y + Math.max(h, 1) - 1, cellSize);
+        return new Rectangle(firstX, firstY, lastX - firstX + 1, lastY - firstY + 1);
+    }
+
+    /**
+     * Checks whether a sprite's bounds overlap an area, counting touching edges as overlapping.
+     *
+     * @param sprite The sprite.
+     * @param area The area.
+     * @return True if they overlap.
+     */
+    private static boolean overlaps(Sprite sprite, Rectangle area) {
+        return sprite.getX() <= area.x + area.width && sprite.getX() + sprite.getW() >= area.x
+                && sprite.getY() <= area.y + area.height && sprite.getY() + sprite.getH() >= area.y;
+    }
+
+    /**
+     * A sprite, the order it was inserted in, the cells it is filed under and the last query that met it.
+     */
+    private static class Entry<T extends Sprite> {
+        private final T sprite;
+        private final int order;
+        private Rectangle range;
+        private int stamp;
+
+        Entry(T sprite, int order) {
+            this.sprite = sprite;
+            this.order = order;
+        }
+    }
+
+    /**
+     * A cell's column and row, used as the key of the cell map.
+     */
+    private static class Cell {
+        private int x, y;
+
+        Cell(int x, int y) {
+            set(x, y);
+        }
+
+        /**
+         * Moves the key to another cell, for lookups.
+         *
+         * @param x The cell column.
+         * @param y The cell row.
+         * @return This key.
+         */
+        Cell set(int x, int y) {
+            this.x = x;
+            this.y = y;
+            return this;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof Cell && ((Cell) other).x == x && ((Cell) other).y == y;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * x + y;
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package main.core;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.Image;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.List;
+
+import main.GameObjects.Background;
+import main.GameObjects.Light;
+import main.GameObjects.TimeOfDayTint;
+
+/**
+ * An offscreen image of the parts of the scene that only change occasionally: the current background frame
+ * with the level's steady lights drawn over it. While nothing in it changes, drawing the scene's base is
+ * a single blit instead of a background draw plus a gradient fill per light.
+ * The layer is rebuilt when the background shows a new frame, the level's lights change,
+ * the time of day moves on to the next of the {@link TimeOfDayTint#STEPS} lighting steps,
+ * or the {@link QualityGovernor} changes how the lights are drawn.
+ * Lights that animate on their own, like {@link main.GameObjects.FireLight}, are never cached.
+ * When the {@link Lightmap} is on, every light is drawn there instead and the layer holds only the background.
+ * Disabled with {@code -Dreel.staticLayer=false}.
+ */
+public class StaticLayer {
+    private static final boolean ENABLED = Boolean.parseBoolean(System.getProperty("reel.staticLayer", "true"));
+
+    private BufferedImage layer;
+    private Image cachedFrame;
+    private final List<Light> cachedLights = new ArrayList<>();
+    // Refilled every frame to compare with the cached lights, so drawing the layer allocates nothing
+    private final List<Light> steadyLights = new ArrayList<>();
+    private int cachedStep = -1;
+    private QualityGovernor.Tier cachedTier;
+    private int rebuilds = 0;
+
+    /**
+     * Gets whether the static layer is enabled.
+     *
+     * @return True unless disabled with {@code -Dreel.staticLayer=false}.
+     */
+    public static boolean isEnabled() {
+        return ENABLED;
+    }
+
+    /**
+     * Gets the lighting step a time of day falls in. Cached lights are only redrawn when this changes.
+     *
+     * @param timeOfDay The time of day, from 0 (midnight) to 1 (the next midnight).
+     * @return The lighting step.
+     */
+    public static int getLightingStep(float timeOfDay) {
+        return TimeOfDayTint.getStep(timeOfDay);
+    }
+
+    /**
+     * Draws the background and every light that does not animate on its own, rebuilding the cached layer first if it is out of date.
+     *
+     * @param g The Graphics2D object used for drawing, translated into the world.
+     * @param background The level's background.
+     * @param lights The level's lights, or null if it has none.
+     * @param timeOfDay The current time of day.
+     */
+    public void draw(Graphics2D g, Background background, List<Light> lights, float timeOfDay) {
+        steadyLights.clear();
+        if (lights != null) {
+            for (int i = 0; i < lights.size(); i++) {
+                Light light = lights.get(i);
+                if (!light.isAnimated()) {
+                    steadyLights.add(light);
+                }
+            }
+        }
+
+        Image frame = background.getCurrentImage();
+        int step = getLightingStep(timeOfDay);
+        QualityGovernor.Tier tier = QualityGovernor.getTier();
+        // Only the lights change with the step and tier; without any, e.g. when they are in the lightmap, the layer is just the background
+        boolean lightingChanged = (step != cachedStep || tier != cachedTier) && !steadyLights.isEmpty();
+        if (layer == null || layer.getWidth() != background.getW() || layer.getHeight() != background.getH()
+                || frame != cachedFrame || lightingChanged || !steadyLights.equals(cachedLights)) {
+            rebuild(background, steadyLights);
+            cachedFrame = frame;
+            cachedStep = step;
+            cachedTier = tier;
+            cachedLights.clear();
+            cachedLights.addAll(steadyLights);
+        }
+        g.drawImage(layer, background.getX(), background.getY(), null);
+    }
+
+    /**
+     * Gets how many times the layer has been redrawn, for the debug overlay.
+     *
+     * @return The number of rebuilds.
+     */
+    public int getRebuilds() {
+        return rebuilds;
+    }
+
+    /**
+     * Redraws the background and steady lights into the layer image.
+     *
+     * @param background The level's background.
+     * @param steadyLights The lights to draw over it.
+     */
+    private void rebuild(Background background, List<Light> steadyLights) {
+        if (layer == null || layer.getWidth() != background.getW() || layer.getHeight() != background.getH()) {
+            layer = CompatibleImages.create(background.getW(), background.getH(), Transparency.OPAQUE);
+        }
+        Graphics2D g = layer.createGraphics();
+        try {
+            g.setColor(Color.BLACK);
+            g.fillRect(0, 0, layer.getWidth(), layer.getHeight());
+            // The layer's origin is the background's corner in the world
+            g.translate(-background.getX(), -background.getY());
+            background.draw(g);
+            for (Light light : steadyLights) {
+                light.draw(g);
+            }
+        } finally {
+            g.dispose();
+        }
+        rebuilds++;
+    }
+}
@@ -0,0 +1,274 @@
+package main.core;
+
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Shares the fonts and font metrics used for on-screen text, and keeps a bounded, least-recently-used cache
+ * of strings pre-rendered as anti-aliased images, so a label that does not change can be drawn as a single blit.
+ * Pre-rendering is off by default and enabled with {@code -Dreel.textImages=true}: Java2D already caches glyph
+ * images per font, and in the software pipeline blending a whole translucent label costs more than drawing
+ * the glyphs, so labels only pay off where images are accelerated. Without it, strings are drawn directly
+ * with the shared fonts. The cache budget is {@code -Dreel.textCacheMB} (4 MB by default).
+ */
+public class TextCache {
+    private static final boolean IMAGES = Boolean.getBoolean("reel.textImages");
+    private static final long MAX_BYTES = Long.getLong("reel.textCacheMB", 4) * 1024 * 1024;
+    private static final String FONT_NAME = "Arial";
+
+    private static final Map<Integer, Font> fonts = new ConcurrentHashMap<>();
+    private static final Map<Integer, FontMetrics> metrics = new ConcurrentHashMap<>();
+    private static final Map<Key, Label> labels = new LinkedHashMap<>(64, 0.75f, true);
+    private static final Graphics2D measure = createMeasure();
+    private static long bytesResident = 0;
+
+    private TextCache() {
+    }
+
+    /**
+     * Gets the shared bold font of a given size.
+     *
+     * @param size The font size.
+     * @return The font.
+     */
+    public static Font getFont(int size) {
+        return fonts.computeIfAbsent(size, s -> new Font(FONT_NAME, Font.BOLD, s));
+    }
+
+    /**
+     * Gets the metrics of the shared bold font of a given size, as measured for anti-aliased text.
+     *
+     * @param size The font size.
+     * @return The font metrics.
+     */
+    public static FontMetrics getMetrics(int size) {
+        return metrics.computeIfAbsent(size, s -> {
+            synchronized (measure) {
+                return measure.getFontMetrics(getFont(s));
+            }
+        });
+    }
+
+    /**
+     * Draws a string with its baseline at the given position, like {@link Graphics2D#drawString(String, int, int)}.
+     *
+     * @param g The Graphics2D object used for drawing.
+     * @param text The string to draw.
+     * @param size The font size.
+     * @param color The text color.
+     * @param x The x-coordinate of the start of the string.
+     * @param y The y-coordinate of the baseline.
+     */
+    public static void drawString(Graphics2D g, String text, int size, Color color, int x, int y) {
+        if (text == null || text.isEmpty()) {
+            return;
+        }
+        Label label = IMAGES ? getLabel(text, size, color) : null;
+        if (label != null) {
+            g.drawImage(label.image, x - label.originX, y - label.originY, null);
+        } else {
+            g.setFont(getFont(size));
+            g.setColor(color);
+            g.drawString(text, x, y);
+        }
+    }
+
+    /**
+     * Draws a string centered horizontally and vertically within a rectangle.
+     *
+     * @param g The Graphics2D object used for drawing.
+     * @param text The string to draw.
+     * @param size The font size.
+     * @param color The text color.
+     * @param x The x-coordinate of the rectangle.
+     * @param y The y-coordinate of the rectangle.
+     * @param w The width of the rectangle.
+     * @param h The height of the rectangle.
+     */
+    public static void drawCentered(Graphics2D g, String text, int size, Color color, int x, int y, int w, int h) {
+        if (text == null || text.isEmpty()) {
+            return;
+        }
+        drawCentered(g, text, stringWidth(text, size), size, color, x, y, w, h);
+    }
+
+    /**
+     * Draws a string centered horizontally and vertically within a rectangle, using a width measured
+     * beforehand with {@link #stringWidth(String, int)} so text that does not change is not measured on every frame.
+     *
+     * @param g The Graphics2D object used for drawing.
+     * @param text The string to draw.
+     * @param textWidth The width of the string at the given size.
+     * @param size The font size.
+     * @param color The text color.
+     * @param x The x-coordinate of the rectangle.
+     * @param y The y-coordinate of the rectangle.
+     * @param w The width of the rectangle.
+     * @param h The height of the rectangle.
+     */
+    public static void drawCentered(Graphics2D g, String text, int textWidth, int size, Color color, int x, int y, int w, int h) {
+        if (text == null || text.isEmpty()) {
+            return;
+        }
+        FontMetrics fontMetrics = getMetrics(size);
+        int textX = x + (w - textWidth) / 2;
+        int textY = y + ((h - fontMetrics.getHeight()) / 2) + fontMetrics.getAscent();
+        drawString(g, text, size, color, textX, textY);
+    }
+
+    /**
+     * Measures the width of a string in the shared bold font.
+     *
+     * @param text The string to measure.
+     * @param size The font size.
+     * @return The advance width of the string.
+     */
+    public static int stringWidth(String text, int size) {
+        return getMetrics(size).stringWidth(text);
+    }
+
+    /**
+     * Gets the number of pre-rendered labels held.
+     *
+     * @return The number of labels.
+     */
+    public static int getSize() {
+        synchronized (labels) {
+            return labels.size();
+        }
+    }
+
+    /**
+     * Gets the number of bytes held by pre-rendered labels.
+     *
+     * @return The resident size in bytes.
+     */
+    public static long getBytesResident() {
+        synchronized (labels) {
+            return bytesResident;
+        }
+    }
+
+    /**
+     * Gets a string's pre-rendered label, rendering and caching it if needed.
+     *
+     * @param text The string.
+     * @param size The font size.
+     * @param color The text color.
+     * @return The label, or null if it is too large to cache.
+     */
+    private static Label getLabel(String text, int size, Color color) {
+        Key key = new Key(text, size, color.getRGB());
+        synchronized (labels) {
+            Label label = labels.get(key);
+            if (label != null) {
+                return label;
+            }
+        }
+        Label label = render(text, size, color);
+        long bytes = AssetCache.estimateBytes(label.image);
+        if (bytes > MAX_BYTES) {
+            return null;
+        }
+        synchronized (labels) {
+            Label previous = labels.put(key, label);
+            if (previous != null) {
+                bytesResident -= AssetCache.estimateBytes(previous.image);
+            }
+            bytesResident += bytes;
+            Iterator<Label> iterator = labels.values().iterator();
+            while (bytesResident > MAX_BYTES && iterator.hasNext()) {
+                bytesResident -= AssetCache.estimateBytes(iterator.next().image);
+                iterator.remove();
+            }
+        }
+        return label;
+    }
+
+    /**
+     * Renders a string into a translucent image with anti-aliasing, padded so bold glyphs that overhang
+     * their advance are not cut off.
+     *
+     * @param text The string.
+     * @param size The font size.
+     * @param color The text color.
+     * @return The label.
+     */
+    private static Label render(String text, int size, Color color) {
+        FontMetrics fontMetrics = getMetrics(size);
+        int pad = Math.max(2, size / 8);
+        int w = fontMetrics.stringWidth(text) + 2 * pad;
+        int h = fontMetrics.getAscent() + fontMetrics.getDescent() + 2 * pad;
+        BufferedImage image = CompatibleImages.create(w, h, Transparency.TRANSLUCENT);
+        Graphics2D g = image.createGraphics();
+        g.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+        g.setFont(getFont(size));
+        g.setColor(color);
+        g.drawString(text, pad, pad + fontMetrics.getAscent());
+        g.dispose();
+        return new Label(image, pad, pad + fontMetrics.getAscent());
+    }
+
+    /**
+     * Creates the graphics context fonts are measured with, set up the same way labels are rendered.
+     *
+     * @return The measuring context.
+     */
+    private static Graphics2D createMeasure() {
+        Graphics2D g = new BufferedImage(1, 1, BufferedImage.TYPE_INT_ARGB).createGraphics();
+        g.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+        return g;
+    }
+
+    /**
+     * A pre-rendered string and where its start and baseline fall within the image.
+     */
+    private static class Label {
+        private final BufferedImage image;
+        private final int originX, originY;
+
+        Label(BufferedImage image, int originX, int originY) {
+            this.image = image;
+            this.originX = originX;
+            this.originY = originY;
+        }
+    }
+
+    /**
+     * Identifies a string drawn at a particular size and color.
+     */
+    private static class Key {
+        private final String text;
+        private final int size;
+        private final int rgb;
+
+        Key(String text, int size, int rgb) {
+            this.text = text;
+            this.size = size;
+            this.rgb = rgb;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            return text.equals(other.text) && size == other.size && rgb == other.rgb;
+        }
+
+        @Override
+        public int hashCode() {
+            return (text.hashCode() * 31 + size) * 31 + rgb;
+        }
+    }
+}
@@ -0,0 +1,275 @@
+package main.core;
+
+import java.awt.Graphics2D;
+import java.awt.Image;
+import java.awt.image.BufferedImage;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Runtime view of the atlases written by {@link main.tools.AtlasPacker}.
+ * Each animation state under {@code assets/} is loaded as a few atlas pages instead of one resource
+ * per frame, and frames can be drawn as sub-rectangles of their page so a whole animation
+ * state shares a single image. A state's atlas can be released again, so its pages are freed when the
+ * {@link AssetCache} evicts the state. When no atlas was built (e.g. running from an IDE) frames
+ * fall back to being loaded one file at a time.
+ */
+public class TextureAtlas {
+    private static final String ATLAS_FOLDER = "atlas";
+    private static final String INDEX_EXTENSION = ".atlas";
+    private static final String ASSETS_PREFIX = "assets/";
+    private static final boolean DRAW_FROM_ATLAS = Boolean.getBoolean("reel.atlasDraw");
+
+    private static final ConcurrentMap<String, CompletableFuture<Optional<TextureAtlas>>> atlases = new ConcurrentHashMap<>();
+    private static final Map<Image, Region> regionsByImage = Collections.synchronizedMap(new IdentityHashMap<>());
+
+    private final Map<String, Region> regions;
+    private final List<String> pagePaths;
+
+    /**
+     * Constructs a TextureAtlas from its already loaded regions.
+     *
+     * @param regions The regions of the atlas keyed by frame resource path.
+     * @param pagePaths The resource paths of the atlas pages.
+     */
+    private TextureAtlas(Map<String, Region> regions, List<String> pagePaths) {
+        this.regions = regions;
+        this.pagePaths = pagePaths;
+    }
+
+    /**
+     * Finds the atlas region holding a frame, loading its animation state's atlas on first use.
+     *
+     * @param path The normalized resource path of the frame.
+     * @return The region, or null if the frame is not in an atlas.
+     */
+    public static Region findRegion(String path) {
+        String state = stateOf(path);
+        if (state == null) {
+            return null;
+        }
+        CompletableFuture<Optional<TextureAtlas>> atlas = load(state);
+        // A decode worker must not wait on page decodes queued behind it; it decodes the frame's own file instead
+        if (!atlas.isDone() && AssetCache.isDecoderThread()) {
+            return null;
+        }
+        return atlas.join().map(a -> a.regions.get(path)).orElse(null);
+    }
+
+    /**
+     * Starts loading an animation state's atlas if it is not already loaded or loading, so its pages
+     * decode on the worker pool while the caller does something else.
+     *
+     * @param folder The normalized resource folder of the animation state.
+     * @return A future that completes once the atlas is loaded, or at once if the folder is not an animation state.
+     */
+    public static CompletableFuture<?> preload(String folder) {
+        String state = stateOf(folder + "/");
+        return (state != null) ? load(state) : CompletableFuture.completedFuture(null);
+    }
+
+    /**
+     * Forgets an animation state's atlas so its pages can be freed. The next frame looked up from the
+     * state loads the atlas again.
+     *
+     * @param folder The normalized resource folder of the animation state.
+     * @return The resource paths of the released pages, which the caller should stop holding.
+     */
+    public static List<String> release(String folder) {
+        String state = stateOf(folder + "/");
+        CompletableFuture<Optional<TextureAtlas>> loading = (state != null) ? atlases.remove(state) : null;
+        Optional<TextureAtlas> atlas = (loading != null) ? loading.getNow(Optional.empty()) : Optional.empty();
+        if (!atlas.isPresent()) {
+            return Collections.emptyList();
+        }
+        for (Region region : atlas.get().regions.values()) {
+            region.release();
+        }
+        return atlas.get().pagePaths;
+    }
+
+    /**
+     * Gets the atlas region a frame image was cut from.
+     *
+     * @param frame A frame previously returned by {@link Region#getImage()}.
+     * @return The region, or null if the frame did not come from an atlas.
+     */
+    public static Region getRegion(Image frame) {
+        return frame == null ? null : regionsByImage.get(frame);
+    }
+
+    /**
+     * Gets whether sprites should draw frames as sub-rectangles of their atlas page by default.
+     * Enabled with {@code -Dreel.atlasDraw=true}; otherwise frames are drawn through the
+     * {@link ScaledImageCache}, which is faster on the software pipeline.
+     *
+     * @return True if atlas drawing is enabled.
+     */
+    public static boolean isDrawEnabled() {
+        return DRAW_FROM_ATLAS;
+    }
+
+    /**
+     * Gets the animation state a frame belongs to, as {@code <set>/<state>}.
+     *
+     * @param path The normalized resource path of the frame.
+     * @return The state, or null if the path is not inside a state folder under {@code assets/}.
+     */
+    private static String stateOf(String path) {
+        if (!path.startsWith(ASSETS_PREFIX)) {
+            return null;
+        }
+        int setEnd = path.indexOf('/', ASSETS_PREFIX.length());
+        int stateEnd = (setEnd < 0) ? -1 : path.indexOf('/', setEnd + 1);
+        return (stateEnd < 0) ? null : path.substring(ASSETS_PREFIX.length(), stateEnd);
+    }
+
+    /**
+     * Gets the entry for an animation state's atlas, starting to load it on first use.
+     * Only the index is read here; the pages are decoded as separate tasks on the {@link AssetCache}
+     * worker pool, so loading never holds up lookups of other states.
+     *
+     * @param state The animation state, as {@code <set>/<state>}.
+     * @return A future holding the atlas, or empty if none was built for the state.
+     */
+    private static CompletableFuture<Optional<TextureAtlas>> load(String state) {
+        CompletableFuture<Optional<TextureAtlas>> atlas = atlases.get(state);
+        if (atlas != null) {
+            return atlas;
+        }
+        CompletableFuture<Optional<TextureAtlas>> created = new CompletableFuture<>();
+        atlas = atlases.putIfAbsent(state, created);
+        if (atlas != null) {
+            return atlas;
+        }
+
+        String indexPath = ATLAS_FOLDER + "/" + state + INDEX_EXTENSION;
+        try (InputStream in = TextureAtlas.class.getClassLoader().getResourceAsStream(indexPath)) {
+            if (in == null) {
+                created.complete(Optional.empty());
+                return created;
+            }
+            BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+            List<String[]> frameLines = new ArrayList<>();
+            List<String> pagePaths = new ArrayList<>();
+            List<CompletableFuture<Image>> decoding = new ArrayList<>();
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String[] fields = line.split("\t");
+                if (fields[0].equals("page")) {
+                    pagePaths.add(fields[2]);
+                    decoding.add(AssetCache.decodeAsync(fields[2]));
+                } else if (fields[0].equals("frame")) {
+                    frameLines.add(fields);
+                }
+            }
+            // The regions are cut once every page has decoded
+            CompletableFuture.allOf(decoding.toArray(new CompletableFuture<?>[0])).whenComplete((done, error) ->
+                    created.complete(build(indexPath, frameLines, pagePaths, decoding)));
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Error loading atlas " + indexPath + ": " + e.getMessage());
+            created.complete(Optional.empty());
+        }
+        return created;
+    }
+
+    /**
+     * Cuts an atlas's regions out of its decoded pages.
+     *
+     * @param indexPath The resource path of the atlas index, for error messages.
+     * @param frameLines The index's frame lines.
+     * @param pagePaths The resource paths of the pages.
+     * @param decoding The pages being decoded, all of which have completed.
+     * @return The atlas, or empty if a page could not be decoded.
+     */
+    private static Optional<TextureAtlas> build(String indexPath, List<String[]> frameLines, List<String> pagePaths,
+                                                List<CompletableFuture<Image>> decoding) {
+        try {
+            List<BufferedImage> pages = new ArrayList<>();
+            for (CompletableFuture<Image> decoded : decoding) {
+                Image page = decoded.join();
+                if (!(page instanceof BufferedImage)) {
+                    return Optional.empty();
+                }
+                pages.add((BufferedImage) page);
+            }
+            Map<String, Region> regions = new HashMap<>();
+            for (String[] fields : frameLines) {
+                regions.put(fields[1], new Region(pages.get(Integer.parseInt(fields[2])),
+                        Integer.parseInt(fields[3]), Integer.parseInt(fields[4]),
+                        Integer.parseInt(fields[5]), Integer.parseInt(fields[6])));
+            }
+            return Optional.of(new TextureAtlas(regions, pagePaths));
+        } catch (RuntimeException e) {
+            System.err.println("Error loading atlas " + indexPath + ": " + e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * A frame's rectangle within an atlas page.
+     */
+    public static class Region {
+        private final BufferedImage page;
+        private final int x, y, w, h;
+        private BufferedImage image;
+
+        Region(BufferedImage page, int x, int y, int w, int h) {
+            this.page = page;
+            this.x = x;
+            this.y = y;
+            this.w = w;
+            this.h = h;
+        }
+
+        /**
+         * Gets the frame as an image sharing the page's pixels.
+         *
+         * @return The frame image.
+         */
+        public synchronized BufferedImage getImage() {
+            if (image == null) {
+                image = page.getSubimage(x, y, w, h);
+                regionsByImage.put(image, this);
+            }
+            return image;
+        }
+
+        /**
+         * Drops the frame image cut from the page, so nothing keeps the page's pixels alive once the
+         * atlas is released.
+         */
+        synchronized void release() {
+            if (image != null) {
+                regionsByImage.remove(image);
+                image = null;
+            }
+        }
+
+        /**
+         * Draws the frame by blitting its rectangle straight from the atlas page.
+         *
+         * @param g The Graphics2D object used for drawing.
+         * @param dx The x-coordinate to draw at.
+         * @param dy The y-coordinate to draw at.
+         * @param dw The width to draw the frame at.
+         * @param dh The height to draw the frame at.
+         */
+        public void draw(Graphics2D g, int dx, int dy, int dw, int dh) {
+            g.drawImage(page, dx, dy, dx + dw, dy + dh, x, y, x + w, y + h, null);
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package main.core;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+import main.GUI.TextTemp;
+
+/**
+ * Holds the temporary texts shown over the game, such as the name and weight of a caught fish.
+ * Texts are removed as soon as they expire, so updating and drawing costs depend only on what is showing,
+ * not on how long the game has been running. Expired texts go back to a pool and are reused by later ones.
+ * At most {@code -Dreel.maxTexts} texts (32 by default) show at once; showing another replaces the oldest.
+ */
+public class TransientTexts {
+    private static final int MAX_TEXTS = Math.max(1, Integer.getInteger("reel.maxTexts", 32));
+
+    private final TextTemp[] active = new TextTemp[MAX_TEXTS];
+    private final Deque<TextTemp> pool = new ArrayDeque<>();
+    private int size = 0;
+    private int changes = 0;
+
+    /**
+     * Shows a text for a number of ticks, reusing an expired text if one is pooled.
+     *
+     * @param x The x-coordinate of the text.
+     * @param y The y-coordinate of the text's baseline.
+     * @param fontSize The font size of the text.
+     * @param text The string to show.
+     * @param color The color of the text.
+     * @param duration How many ticks to show the text for.
+     */
+    public void show(int x, int y, int fontSize, String text, Color color, int duration) {
+        if (size == MAX_TEXTS) {
+            // Full; the oldest text makes room
+            pool.push(active[0]);
+            System.arraycopy(active, 1, active, 0, size - 1);
+            size--;
+        }
+        TextTemp entry = pool.poll();
+        if (entry == null) {
+            entry = new TextTemp(x, y, fontSize, text, color, duration);
+        } else {
+            entry.reset(x, y, fontSize, text, color, duration);
+        }
+        active[size++] = entry;
+        changes++;
+    }
+
+    /**
+     * Advances every showing text by one tick and removes the ones that have expired.
+     * Remaining texts are moved down in one pass, so each removal costs the same however many texts there are.
+     */
+    public void update() {
+        int kept = 0;
+        for (int i = 0; i < size; i++) {
+            TextTemp entry = active[i];
+            entry.update();
+            if (entry.isDone()) {
+                pool.push(entry);
+            } else {
+                active[kept++] = entry;
+            }
+        }
+        if (kept != size) {
+            for (int i = kept; i < size; i++) {
+                active[i] = null;
+            }
+            size = kept;
+            changes++;
+        }
+    }
+
+    /**
+     * Draws the showing texts, oldest first.
+     *
+     * @param g The Graphics2D object used for drawing, in screen coordinates.
+     */
+    public void draw(Graphics2D g) {
+        for (int i = 0; i < size; i++) {
+            active[i].draw(g);
+        }
+    }
+
+    /**
+     * Removes every showing text, returning them to the pool.
+     */
+    public void clear() {
+        for (int i = 0; i < size; i++) {
+            pool.push(active[i]);
+            active[i] = null;
+        }
+        if (size > 0) {
+            size = 0;
+            changes++;
+        }
+    }
+
+    /**
+     * Gets the number of texts showing.
+     *
+     * @return The number of texts.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Gets the number of expired texts waiting to be reused.
+     *
+     * @return The number of pooled texts.
+     */
+    public int getPooled() {
+        return pool.size();
+    }
+
+    /**
+     * Gets the most texts that can show at once.
+     *
+     * @return The cap set by {@code -Dreel.maxTexts}.
+     */
+    public static int getCapacity() {
+        return MAX_TEXTS;
+    }
+
+    /**
+     * Gets a count that changes whenever a text is shown or removed, so the screen knows when to redraw.
+     *
+     * @return The change count.
+     */
+    public int getChanges() {
+        return changes;
+    }
+}
@@ -0,0 +1,205 @@
+package main.tools;
+
+import javax.imageio.ImageIO;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Build-time tool that packs each animation state under {@code assets/} into one or more atlas pages.
+ * Every state folder ({@code player/idle}, {@code fish/dead}, each background's {@code idle}...) gets its pages
+ * written as {@code atlas/<set>/<state>-<page>.png} and a frame-rect index written as {@code atlas/<set>/<state>.atlas},
+ * which {@link main.core.TextureAtlas} reads at runtime. Packing per state rather than per set means a state's
+ * pages can be loaded and released on their own.
+ * The build runs it during {@code process-classes}; see the exec-maven-plugin configuration in the pom.
+ */
+public class AtlasPacker {
+    private static final String ATLAS_FOLDER = "atlas";
+    private static final String INDEX_EXTENSION = ".atlas";
+
+    private static final int MAX_PAGE_SIZE = 2048;
+    private static final int PADDING = 1;
+
+    /**
+     * Packs every animation state found in the resources folder.
+     *
+     * @param args The resources folder to read and the output folder to write to.
+     * @throws IOException if a frame cannot be read or a page cannot be written.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            throw new IllegalArgumentException("Usage: AtlasPacker <resources folder> <output folder>");
+        }
+        File resources = new File(args[0]);
+        File output = new File(args[1], ATLAS_FOLDER);
+        if (!output.isDirectory() && !output.mkdirs()) {
+            throw new IOException("Could not create " + output);
+        }
+
+        int frameCount = 0;
+        int pageCount = 0;
+        for (File set : sortedFiles(new File(resources, "assets"))) {
+            if (!set.isDirectory()) {
+                continue;
+            }
+            File setOutput = new File(output, set.getName());
+            for (File state : sortedFiles(set)) {
+                if (!state.isDirectory()) {
+                    continue;
+                }
+                List<Frame> frames = new ArrayList<>();
+                collectFrames(resources, state, frames);
+                if (frames.isEmpty()) {
+                    continue;
+                }
+                if (!setOutput.isDirectory() && !setOutput.mkdirs()) {
+                    throw new IOException("Could not create " + setOutput);
+                }
+                List<BufferedImage> pages = pack(frames);
+                writeState(setOutput, set.getName(), state.getName(), frames, pages);
+                frameCount += frames.size();
+                pageCount += pages.size();
+            }
+        }
+        System.out.println("Packed " + frameCount + " frames into " + pageCount + " atlas pages");
+    }
+
+    /**
+     * Recursively reads the PNG frames of an animation state in path order.
+     *
+     * @param resources The resources root, used to build the frames' resource paths.
+     * @param folder The folder to read.
+     * @param frames The list the frames are added to.
+     * @throws IOException if a frame cannot be read.
+     */
+    private static void collectFrames(File resources, File folder, List<Frame> frames) throws IOException {
+        for (File file : sortedFiles(folder)) {
+            if (file.isDirectory()) {
+                collectFrames(resources, file, frames);
+            } else if (file.getName().endsWith(".png")) {
+                BufferedImage image = ImageIO.read(file);
+                if (image != null) {
+                    String path = resources.toPath().relativize(file.toPath()).toString().replace(File.separatorChar, '/');
+                    frames.add(new Frame(path, image));
+                }
+            }
+        }
+    }
+
+    /**
+     * Places the frames onto as few pages as possible with a shelf packer, tallest frames first.
+     *
+     * @param frames The frames to place; their page and position are filled in.
+     * @return The rendered atlas pages.
+     */
+    private static List<BufferedImage> pack(List<Frame> frames) {
+        List<Frame> ordered = new ArrayList<>(frames);
+        ordered.sort((a, b) -> a.h != b.h ? b.h - a.h : b.w - a.w);
+
+        long area = 0;
+        int widest = 0;
+        for (Frame frame : ordered) {
+            area += (long) (frame.w + PADDING) * (frame.h + PADDING);
+            widest = Math.max(widest, frame.w + PADDING);
+        }
+        int pageWidth = Integer.highestOneBit((int) Math.ceil(Math.sqrt(area)) - 1) << 1;
+        pageWidth = Math.min(MAX_PAGE_SIZE, Math.max(pageWidth, widest));
+
+        List<Integer> pageHeights = new ArrayList<>();
+        int page = 0, shelfX = 0, shelfY = 0, shelfHeight = 0;
+        for (Frame frame : ordered) {
+            if (shelfX + frame.w + PADDING > pageWidth) {
+                shelfY += shelfHeight;
+                shelfX = 0;
+                shelfHeight = 0;
+            }
+            if (shelfY + frame.h + PADDING > MAX_PAGE_SIZE) {
+                pageHeights.add(shelfY);
+                page++;
+                shelfX = 0;
+                shelfY = 0;
+                shelfHeight = 0;
+            }
+            frame.page = page;
+            frame.x = shelfX;
+            frame.y = shelfY;
+            shelfX += frame.w + PADDING;
+            shelfHeight = Math.max(shelfHeight, frame.h + PADDING);
+        }
+        pageHeights.add(shelfY + shelfHeight);
+
+        List<BufferedImage> pages = new ArrayList<>();
+        for (int height : pageHeights) {
+            pages.add(new BufferedImage(pageWidth, Math.max(1, height), BufferedImage.TYPE_INT_ARGB));
+        }
+        for (Frame frame : ordered) {
+            Graphics2D g = pages.get(frame.page).createGraphics();
+            g.drawImage(frame.image, frame.x, frame.y, null);
+            g.dispose();
+        }
+        return pages;
+    }
+
+    /**
+     * Writes an animation state's pages and its index.
+     * Index lines are tab separated because frame names may contain spaces:
+     * {@code page <n> <resource>} for each page, then {@code frame <resource> <page> <x> <y> <w> <h>}.
+     *
+     * @param output The atlas output folder of the state's animation set.
+     * @param set The name of the animation set.
+     * @param state The name of the animation state.
+     * @param frames The placed frames, in path order.
+     * @param pages The rendered pages.
+     * @throws IOException if a file cannot be written.
+     */
+    private static void writeState(File output, String set, String state, List<Frame> frames, List<BufferedImage> pages) throws IOException {
+        try (PrintWriter index = new PrintWriter(new File(output, state + INDEX_EXTENSION), StandardCharsets.UTF_8.name())) {
+            for (int i = 0; i < pages.size(); i++) {
+                String pageName = state + "-" + i + ".png";
+                ImageIO.write(pages.get(i), "png", new File(output, pageName));
+                index.println("page\t" + i + "\t" + ATLAS_FOLDER + "/" + set + "/" + pageName);
+            }
+            for (Frame frame : frames) {
+                index.println("frame\t" + frame.path + "\t" + frame.page + "\t" + frame.x + "\t" + frame.y + "\t" + frame.w + "\t" + frame.h);
+            }
+        }
+    }
+
+    /**
+     * Lists the files in a folder in name order.
+     *
+     * @param folder The folder to list.
+     * @return The sorted files, or an empty list if the folder does not exist.
+     */
+    private static List<File> sortedFiles(File folder) {
+        File[] files = folder.listFiles();
+        if (files == null) {
+            return new ArrayList<>();
+        }
+        Arrays.sort(files);
+        return Arrays.asList(files);
+    }
+
+    /**
+     * A frame being packed and its position in the atlas.
+     */
+    private static class Frame {
+        private final String path;
+        private final BufferedImage image;
+        private final int w, h;
+        private int page, x, y;
+
+        Frame(String path, BufferedImage image) {
+            this.path = path;
+            this.image = image;
+            this.w = image.getWidth();
+            this.h = image.getHeight();
+        }
+    }
+}
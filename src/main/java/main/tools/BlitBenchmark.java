@@ -0,0 +1,140 @@
+package main.tools;
+
+import javax.imageio.ImageIO;
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.Image;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+import java.awt.image.VolatileImage;
+import java.io.File;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import main.core.CompatibleImages;
+
+/**
+ * Compares the per-frame blit cost of the background and player frames as ImageIO decodes them
+ * against the display-compatible copies made at load time by {@link CompatibleImages}.
+ * Run it from the build output, e.g. {@code java -cp target/classes main.tools.BlitBenchmark [iterations]}.
+ */
+public class BlitBenchmark {
+    private static final int DEFAULT_ITERATIONS = 500;
+    private static final int SCREEN_WIDTH = 1920;
+    private static final int SCREEN_HEIGHT = 1080;
+    private static final int PLAYER_SIZE = 250;
+
+    /**
+     * Runs the benchmark and prints one line per animation folder.
+     *
+     * @param args An optional number of iterations per frame.
+     * @throws IOException if a frame cannot be decoded.
+     * @throws URISyntaxException if the assets folder cannot be located on disk.
+     */
+    public static void main(String[] args) throws IOException, URISyntaxException {
+        int iterations = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_ITERATIONS;
+        URL assetsUrl = BlitBenchmark.class.getClassLoader().getResource("assets");
+        if (assetsUrl == null || !assetsUrl.getProtocol().equals("file")) {
+            System.err.println("Run the benchmark from an exploded classpath such as target/classes");
+            return;
+        }
+        File assets = new File(assetsUrl.toURI());
+
+        List<File> folders = new ArrayList<>();
+        for (File folder : sortedFiles(assets)) {
+            if (folder.getName().startsWith("background_")) {
+                folders.add(new File(folder, "idle"));
+            }
+        }
+        folders.addAll(sortedFiles(new File(assets, "player")));
+
+        System.out.printf("%-36s %6s %14s %14s %8s%n", "folder", "frames", "decoded ns", "compatible ns", "speedup");
+        for (File folder : folders) {
+            List<BufferedImage> decoded = new ArrayList<>();
+            List<BufferedImage> compatible = new ArrayList<>();
+            for (File file : sortedFiles(folder)) {
+                if (file.getName().endsWith(".png")) {
+                    BufferedImage image = ImageIO.read(file);
+                    decoded.add(image);
+                    compatible.add(CompatibleImages.toCompatible(image));
+                }
+            }
+            if (decoded.isEmpty()) {
+                continue;
+            }
+            boolean isBackground = folder.getParentFile().getName().startsWith("background_");
+            int w = isBackground ? SCREEN_WIDTH : PLAYER_SIZE;
+            int h = isBackground ? SCREEN_HEIGHT : PLAYER_SIZE;
+
+            Image target = createTarget();
+            // Warm both paths up so the JIT and any surface caching are settled before timing
+            timeBlits(target, decoded, w, h, iterations / 5 + 1);
+            timeBlits(target, compatible, w, h, iterations / 5 + 1);
+            double before = timeBlits(target, decoded, w, h, iterations);
+            double after = timeBlits(target, compatible, w, h, iterations);
+
+            String name = assets.toPath().relativize(folder.toPath()).toString().replace(File.separatorChar, '/');
+            System.out.printf("%-36s %6d %14.0f %14.0f %7.2fx%n", name, decoded.size(), before, after, before / after);
+        }
+    }
+
+    /**
+     * Draws each frame in turn into the target and returns the average cost of one blit.
+     *
+     * @param target The image being drawn into.
+     * @param frames The frames to draw.
+     * @param w The width each frame is drawn at.
+     * @param h The height each frame is drawn at.
+     * @param iterations The number of passes over the frames.
+     * @return The average time per blit in nanoseconds.
+     */
+    private static double timeBlits(Image target, List<BufferedImage> frames, int w, int h, int iterations) {
+        Graphics2D g = (Graphics2D) target.getGraphics();
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            for (BufferedImage frame : frames) {
+                g.drawImage(frame, 0, 0, w, h, null);
+            }
+        }
+        // Make sure queued work on accelerated pipelines is counted
+        g.drawImage(frames.get(0), 0, 0, 1, 1, null);
+        target.getWidth(null);
+        long elapsed = System.nanoTime() - start;
+        g.dispose();
+        return (double) elapsed / ((long) iterations * frames.size());
+    }
+
+    /**
+     * Creates a screen-sized draw target, using an accelerated image when a display is available.
+     *
+     * @return The draw target.
+     */
+    private static Image createTarget() {
+        GraphicsConfiguration gc = CompatibleImages.getConfiguration();
+        if (gc != null) {
+            VolatileImage image = gc.createCompatibleVolatileImage(SCREEN_WIDTH, SCREEN_HEIGHT, Transparency.OPAQUE);
+            image.validate(gc);
+            return image;
+        }
+        return CompatibleImages.create(SCREEN_WIDTH, SCREEN_HEIGHT, Transparency.OPAQUE);
+    }
+
+    /**
+     * Lists the files in a folder in name order.
+     *
+     * @param folder The folder to list.
+     * @return The sorted files, or an empty list if the folder does not exist.
+     */
+    private static List<File> sortedFiles(File folder) {
+        File[] files = folder.listFiles();
+        if (files == null) {
+            return new ArrayList<>();
+        }
+        Arrays.sort(files);
+        return new ArrayList<>(Arrays.asList(files));
+    }
+}
@@ -0,0 +1,129 @@
+package main.tools;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Build-time tool that writes {@code resources.index}, listing the subfolders and files of every
+ * resource folder in order. {@link main.core.ResourceIndex} reads it once at runtime so that
+ * animation discovery never has to scan the JAR or the file system.
+ * The build runs it during {@code process-classes}; see the exec-maven-plugin configuration in the pom.
+ */
+public class ResourceIndexer {
+    private static final String INDEX_FILE = "resources.index";
+
+    /**
+     * Indexes every folder under the resources folder.
+     *
+     * @param args The resources folder to read and the output folder to write the index to.
+     * @throws IOException if the index cannot be written.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            throw new IllegalArgumentException("Usage: ResourceIndexer <resources folder> <output folder>");
+        }
+        File resources = new File(args[0]);
+        File output = new File(args[1]);
+        if (!output.isDirectory() && !output.mkdirs()) {
+            throw new IOException("Could not create " + output);
+        }
+
+        List<String> lines = new ArrayList<>();
+        for (File child : sortedFiles(resources)) {
+            if (child.isDirectory()) {
+                indexFolder(resources, child, lines);
+            }
+        }
+        try (PrintWriter index = new PrintWriter(new File(output, INDEX_FILE), StandardCharsets.UTF_8.name())) {
+            for (String line : lines) {
+                index.println(line);
+            }
+        }
+        System.out.println("Indexed " + lines.size() + " resource entries");
+    }
+
+    /**
+     * Adds a folder's children to the index, then recurses into its subfolders.
+     * Lines are tab separated because file names may contain spaces:
+     * {@code folder <parent> <subfolder>} and {@code file <parent> <file>}, using resource paths.
+     *
+     * @param resources The resources root.
+     * @param folder The folder to index.
+     * @param lines The index lines being built.
+     */
+    private static void indexFolder(File resources, File folder, List<String> lines) {
+        String path = resourcePath(resources, folder);
+        List<File> children = sortedFiles(folder);
+        for (File child : children) {
+            lines.add((child.isDirectory() ? "folder\t" : "file\t") + path + "\t" + resourcePath(resources, child));
+        }
+        for (File child : children) {
+            if (child.isDirectory()) {
+                indexFolder(resources, child, lines);
+            }
+        }
+    }
+
+    /**
+     * Gets the classpath-relative resource path of a file.
+     *
+     * @param resources The resources root.
+     * @param file The file.
+     * @return The path with forward slashes and no leading slash.
+     */
+    private static String resourcePath(File resources, File file) {
+        return resources.toPath().relativize(file.toPath()).toString().replace(File.separatorChar, '/');
+    }
+
+    /**
+     * Lists the files in a folder in natural order, so that {@code frame-10} sorts after {@code frame-9}.
+     *
+     * @param folder The folder to list.
+     * @return The sorted files, or an empty list if the folder does not exist.
+     */
+    private static List<File> sortedFiles(File folder) {
+        File[] files = folder.listFiles();
+        if (files == null) {
+            return new ArrayList<>();
+        }
+        Arrays.sort(files, (a, b) -> compareNatural(a.getName(), b.getName()));
+        return Arrays.asList(files);
+    }
+
+    /**
+     * Compares two names, treating runs of digits as numbers.
+     *
+     * @param a The first name.
+     * @param b The second name.
+     * @return A negative, zero or positive value as a sorts before, with or after b.
+     */
+    private static int compareNatural(String a, String b) {
+        int i = 0, j = 0;
+        while (i < a.length() && j < b.length()) {
+            char ca = a.charAt(i);
+            char cb = b.charAt(j);
+            if (Character.isDigit(ca) && Character.isDigit(cb)) {
+                int startA = i, startB = j;
+                while (i < a.length() && Character.isDigit(a.charAt(i))) i++;
+                while (j < b.length() && Character.isDigit(b.charAt(j))) j++;
+                long numberA = Long.parseLong(a.substring(startA, i));
+                long numberB = Long.parseLong(b.substring(startB, j));
+                if (numberA != numberB) {
+                    return Long.compare(numberA, numberB);
+                }
+            } else {
+                if (ca != cb) {
+                    return Character.compare(ca, cb);
+                }
+                i++;
+                j++;
+            }
+        }
+        return (a.length() - i) - (b.length() - j);
+    }
+}